@@ -120,6 +120,7 @@ public class EvalBenchmark {
             "abs",
             "add",
             "add_double",
+            "add_overflow",
             "case_1_eager",
             "case_1_lazy",
             "coalesce_2_noop",
@@ -153,7 +154,7 @@ public class EvalBenchmark {
                 FieldAttribute longField = longField();
                 yield EvalMapper.toEvaluator(FOLD_CONTEXT, new Abs(Source.EMPTY, longField), layout(longField)).get(driverContext);
             }
-            case "add" -> {
+            case "add", "add_overflow" -> {
                 FieldAttribute longField = longField();
                 yield EvalMapper.toEvaluator(
                     FOLD_CONTEXT,
@@ -377,6 +378,19 @@ public class EvalBenchmark {
                     }
                 }
             }
+            case "add_overflow" -> {
+                LongBlock b = actual.<LongBlock>getBlock(1);
+                for (int i = 0; i < BLOCK_LENGTH - 1; i++) {
+                    if (b.getLong(b.getFirstValueIndex(i)) != i * 100_000 + 1) {
+                        throw new AssertionError(
+                            "[" + operation + "] expected [" + (i * 100_000 + 1) + "] but was [" + b.getLong(b.getFirstValueIndex(i)) + "]"
+                        );
+                    }
+                }
+                if (b.isNull(BLOCK_LENGTH - 1) == false) {
+                    throw new AssertionError("[" + operation + "] expected the overflow to be null");
+                }
+            }
             case "add_double" -> {
                 DoubleVector v = actual.<DoubleBlock>getBlock(1).asVector();
                 for (int i = 0; i < BLOCK_LENGTH; i++) {
@@ -586,6 +600,15 @@ public class EvalBenchmark {
                 }
                 yield new Page(builder.build());
             }
+            case "add_overflow" -> {
+                // The last value overflows so we exercise the fallback to the block path
+                var builder = blockFactory.newLongBlockBuilder(BLOCK_LENGTH);
+                for (int i = 0; i < BLOCK_LENGTH - 1; i++) {
+                    builder.appendLong(i * 100_000);
+                }
+                builder.appendLong(Long.MAX_VALUE);
+                yield new Page(builder.build());
+            }
             case "add_double" -> {
                 var builder = blockFactory.newDoubleBlockBuilder(BLOCK_LENGTH);
                 for (int i = 0; i < BLOCK_LENGTH; i++) {
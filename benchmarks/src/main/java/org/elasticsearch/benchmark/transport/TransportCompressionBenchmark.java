@@ -0,0 +1,85 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.transport;
+
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.core.Streams;
+import org.elasticsearch.transport.Compression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses a transport message made of bulk-like json documents with each of the transport compression schemes.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class TransportCompressionBenchmark {
+
+    @Param({ "LZ4", "ZSTD" })
+    private Compression.Scheme scheme;
+
+    @Param({ "512", "4096", "65536", "1048576" })
+    private int messageSize;
+
+    private byte[] message;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < messageSize) {
+            builder.append("{\"@timestamp\":")
+                .append(1_700_000_000_000L + random.nextInt(1_000_000))
+                .append(",\"host\":\"host-")
+                .append(random.nextInt(50))
+                .append("\",\"message\":\"GET /index.html HTTP/1.1 200 ")
+                .append(random.nextInt(100_000))
+                .append("\"}\n");
+        }
+        message = Arrays.copyOf(builder.toString().getBytes(StandardCharsets.UTF_8), messageSize);
+    }
+
+    @Benchmark
+    public int compress() throws IOException {
+        BytesStreamOutput output = new BytesStreamOutput(messageSize);
+        try (OutputStream compressed = compressedStream(Streams.noCloseStream(output))) {
+            compressed.write(message);
+        }
+        return output.size();
+    }
+
+    private OutputStream compressedStream(OutputStream output) throws IOException {
+        return switch (scheme) {
+            case LZ4 -> Compression.Scheme.lz4OutputStream(output);
+            case ZSTD -> Compression.Scheme.zstdOutputStream(output);
+            case DEFLATE -> throw new AssertionError("deflate is not a transport compression scheme");
+        };
+    }
+}
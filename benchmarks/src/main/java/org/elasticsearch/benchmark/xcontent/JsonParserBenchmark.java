@@ -0,0 +1,85 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.xcontent;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.XContentParserConfiguration;
+import org.elasticsearch.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast we tokenize JSON, both when walking the tokens like the document parser does and when building a map like ingest
+ * does.
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonParserBenchmark {
+
+    @Param({ "cluster_stats", "index_stats", "node_stats" })
+    private String type;
+
+    private BytesReference source;
+
+    @Setup
+    public void setup() throws IOException {
+        String sourceFile = switch (type) {
+            case "cluster_stats" -> "monitor_cluster_stats.json";
+            case "index_stats" -> "monitor_index_stats.json";
+            case "node_stats" -> "monitor_node_stats.json";
+            default -> throw new IllegalArgumentException("Unknown type [" + type + "]");
+        };
+        source = Streams.readFully(JsonParserBenchmark.class.getResourceAsStream(sourceFile));
+    }
+
+    @Benchmark
+    public void tokens(Blackhole blackhole) throws IOException {
+        try (
+            XContentParser parser = XContentHelper.createParserNotCompressed(XContentParserConfiguration.EMPTY, source, XContentType.JSON)
+        ) {
+            XContentParser.Token token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case FIELD_NAME -> blackhole.consume(parser.currentName());
+                    case VALUE_STRING -> blackhole.consume(parser.text());
+                    case VALUE_NUMBER -> blackhole.consume(parser.numberValue());
+                    case VALUE_BOOLEAN -> blackhole.consume(parser.booleanValue());
+                    default -> blackhole.consume(token);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> map() throws IOException {
+        return XContentHelper.convertToMap(source, false, XContentType.JSON).v2();
+    }
+}
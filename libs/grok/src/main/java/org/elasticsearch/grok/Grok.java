@@ -19,6 +19,7 @@ import org.joni.Syntax;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -53,10 +54,18 @@ public final class Grok {
 
     private static final int MAX_TO_REGEX_ITERATIONS = 100_000; // sanity limit
 
+    // shorter literals are too likely to be found in any text to be worth looking for
+    private static final int MIN_REQUIRED_LITERAL_LENGTH = 2;
+
     private final boolean namedCaptures;
     private final Regex compiledExpression;
     private final MatcherWatchdog matcherWatchdog;
     private final List<GrokCaptureConfig> captureConfig;
+    /**
+     * A literal that any text matching this grok pattern contains, in utf-8, or {@code null} if there is no such literal that we know of.
+     * Looking for it is much cheaper than running the regex, so texts that don't contain it are rejected without running the regex.
+     */
+    private final byte[] requiredLiteral;
 
     public Grok(PatternBank patternBank, String grokPattern, Consumer<String> logCallBack) {
         this(patternBank, grokPattern, true, MatcherWatchdog.noop(), logCallBack);
@@ -96,6 +105,178 @@ public final class Grok {
             grokCaptureConfigs.add(new GrokCaptureConfig(entry.next()));
         }
         this.captureConfig = List.copyOf(grokCaptureConfigs);
+
+        String literal = requiredLiteral(grokPattern);
+        this.requiredLiteral = literal == null ? null : literal.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the longest literal that any text matching the given grok pattern must contain. Only the top level of the pattern is
+     * inspected: pattern references, groups and character classes are skipped, and we give up on anything we can't reason about cheaply,
+     * like alternations, inline options and numeric escapes.
+     *
+     * @return the longest required literal, or {@code null} if there is none or it is too short to be useful
+     */
+    static String requiredLiteral(String grokPattern) {
+        if (grokPattern.contains("\\Q") || grokPattern.contains("(?x")) {
+            // quoted sections and extended syntax may hide brackets and parentheses from us
+            return null;
+        }
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int lastCodePointLength = 0;
+        int i = 0;
+        while (i < grokPattern.length()) {
+            int c = grokPattern.codePointAt(i);
+            int next = i + Character.charCount(c);
+            switch (c) {
+                case '%' -> {
+                    if (next < grokPattern.length() && grokPattern.charAt(next) == '{') {
+                        int end = grokPattern.indexOf('}', next);
+                        if (end < 0) {
+                            return null;
+                        }
+                        next = end + 1;
+                        longest = longer(longest, current);
+                        current.setLength(0);
+                    } else {
+                        lastCodePointLength = Character.charCount(c);
+                        current.appendCodePoint(c);
+                    }
+                }
+                case '\\' -> {
+                    if (next >= grokPattern.length()) {
+                        return null;
+                    }
+                    int escaped = grokPattern.codePointAt(next);
+                    next += Character.charCount(escaped);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        if ("xupPkgcCMQE0123456789".indexOf(escaped) >= 0) {
+                            // escapes that take arguments or can stand for a literal, these aren't worth the trouble
+                            return null;
+                        }
+                        // a character class or an anchor
+                        longest = longer(longest, current);
+                        current.setLength(0);
+                    } else {
+                        lastCodePointLength = Character.charCount(escaped);
+                        current.appendCodePoint(escaped);
+                    }
+                }
+                case '?', '*', '{' -> {
+                    // the previous character is optional
+                    current.setLength(Math.max(0, current.length() - lastCodePointLength));
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    if (c == '{') {
+                        int end = grokPattern.indexOf('}', next);
+                        if (end < 0) {
+                            return null;
+                        }
+                        next = end + 1;
+                    }
+                }
+                case '(' -> {
+                    if (grokPattern.startsWith("?", next)
+                        && next + 1 < grokPattern.length()
+                        && "imx-".indexOf(grokPattern.charAt(next + 1)) >= 0) {
+                        // inline options may change how the rest of the pattern matches
+                        return null;
+                    }
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    next = skipGroup(grokPattern, next);
+                    if (next < 0) {
+                        return null;
+                    }
+                }
+                case '[' -> {
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    next = skipCharacterClass(grokPattern, next);
+                    if (next < 0) {
+                        return null;
+                    }
+                }
+                case '|' -> {
+                    // none of the literals are required if there are alternatives at the top level
+                    return null;
+                }
+                case '.', '^', '$', '+', ')', ']', '}' -> {
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                }
+                default -> {
+                    lastCodePointLength = Character.charCount(c);
+                    current.appendCodePoint(c);
+                }
+            }
+            i = next;
+        }
+        longest = longer(longest, current);
+        return longest.getBytes(StandardCharsets.UTF_8).length < MIN_REQUIRED_LITERAL_LENGTH ? null : longest;
+    }
+
+    private static String longer(String longest, StringBuilder current) {
+        return current.length() > longest.length() ? current.toString() : longest;
+    }
+
+    /**
+     * Skips a group, starting right after its opening parenthesis.
+     *
+     * @return the index right after the closing parenthesis of the group, or -1 if the group can't be skipped safely
+     */
+    private static int skipGroup(String pattern, int from) {
+        int depth = 1;
+        for (int i = from; i < pattern.length(); i++) {
+            switch (pattern.charAt(i)) {
+                case '\\' -> i++;
+                case '[' -> {
+                    i = skipCharacterClass(pattern, i + 1);
+                    if (i < 0) {
+                        return -1;
+                    }
+                    i--;
+                }
+                case '(' -> depth++;
+                case ')' -> {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips a character class, starting right after its opening bracket.
+     *
+     * @return the index right after the closing bracket of the class, or -1 if the class can't be skipped safely
+     */
+    private static int skipCharacterClass(String pattern, int from) {
+        int depth = 1;
+        // a closing bracket right at the start of a class is a literal
+        int i = pattern.startsWith("^", from) ? from + 1 : from;
+        if (pattern.startsWith("]", i)) {
+            i++;
+        }
+        for (; i < pattern.length(); i++) {
+            switch (pattern.charAt(i)) {
+                case '\\' -> i++;
+                case '[' -> depth++;
+                case ']' -> {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return -1;
     }
 
     private static String groupMatch(String name, Region region, String pattern) {
@@ -173,7 +354,11 @@ public final class Grok {
      * @return true if grok expression matches text or there is a timeout, false otherwise.
      */
     public boolean match(String text) {
-        Matcher matcher = compiledExpression.matcher(text.getBytes(StandardCharsets.UTF_8));
+        byte[] utf8Bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (containsRequiredLiteral(utf8Bytes, 0, utf8Bytes.length) == false) {
+            return false;
+        }
+        Matcher matcher = compiledExpression.matcher(utf8Bytes);
         int result;
         try {
             matcherWatchdog.register(matcher);
@@ -226,6 +411,9 @@ public final class Grok {
      * @throws RuntimeException if there was a timeout
      */
     public boolean match(byte[] utf8Bytes, int offset, int length, GrokCaptureExtracter extracter) {
+        if (containsRequiredLiteral(utf8Bytes, offset, length) == false) {
+            return false;
+        }
         Matcher matcher = compiledExpression.matcher(utf8Bytes, offset, offset + length);
         int result;
         try {
@@ -246,6 +434,21 @@ public final class Grok {
         return true;
     }
 
+    private boolean containsRequiredLiteral(byte[] utf8Bytes, int offset, int length) {
+        if (requiredLiteral == null) {
+            return true;
+        }
+        final byte first = requiredLiteral[0];
+        final int literalLength = requiredLiteral.length;
+        final int last = offset + length - literalLength;
+        for (int i = offset; i <= last; i++) {
+            if (utf8Bytes[i] == first && Arrays.equals(utf8Bytes, i, i + literalLength, requiredLiteral, 0, literalLength)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * The list of values that this {@linkplain Grok} can capture.
      */
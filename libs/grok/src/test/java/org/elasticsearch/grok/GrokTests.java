@@ -55,6 +55,38 @@ public class GrokTests extends ESTestCase {
         assertThat(grok.captures("no_match"), nullValue());
     }
 
+    public void testRequiredLiteral() {
+        assertThat(Grok.requiredLiteral("value"), equalTo("value"));
+        assertThat(Grok.requiredLiteral("%{IP:client} %{WORD:method} /index\\.html"), equalTo(" /index.html"));
+        assertThat(Grok.requiredLiteral("%{IP:client} %{WORD:method} /index.html"), equalTo(" /index"));
+        assertThat(Grok.requiredLiteral("\\d+ apples?"), equalTo(" apple"));
+        assertThat(Grok.requiredLiteral("ab{2}cd"), equalTo("cd"));
+        assertThat(Grok.requiredLiteral("[abc]xyz"), equalTo("xyz"));
+        assertThat(Grok.requiredLiteral("[]x]hello"), equalTo("hello"));
+        assertThat(Grok.requiredLiteral("(?<x>a|b)hello"), equalTo("hello"));
+        assertThat(Grok.requiredLiteral("a(b(c)d)efg"), equalTo("efg"));
+        assertThat(Grok.requiredLiteral("%{WORD}"), nullValue());
+        assertThat(Grok.requiredLiteral("%{WORD} %{WORD}"), nullValue());
+        assertThat(Grok.requiredLiteral("foo|bar"), nullValue());
+        assertThat(Grok.requiredLiteral("(?i)value"), nullValue());
+        assertThat(Grok.requiredLiteral("\\x41BCD"), nullValue());
+        assertThat(Grok.requiredLiteral("x\\QYZ\\E"), nullValue());
+    }
+
+    public void testRequiredLiteralPrefilter() {
+        Grok grok = new Grok(GrokBuiltinPatterns.get(randomBoolean()), "%{WORD:method} /index\\.html", logger::warn);
+        assertThat(grok.captures("GET /index.html"), equalTo(Map.of("method", "GET")));
+        assertThat(grok.captures("GET /index.htm"), nullValue());
+        assertThat(grok.captures("GET /about.html"), nullValue());
+        assertTrue(grok.match("GET /index.html"));
+        assertFalse(grok.match("GET /about.html"));
+
+        // the literal must be within the matched range of the bytes
+        byte[] utf8 = "GET /index.html".getBytes(StandardCharsets.UTF_8);
+        assertTrue(grok.match(utf8, 0, utf8.length, (bytes, offset, region) -> {}));
+        assertFalse(grok.match(utf8, 0, utf8.length - 1, (bytes, offset, region) -> {}));
+    }
+
     public void testCapturesBytes() {
         testCapturesBytes(false);
         testCapturesBytes(true);
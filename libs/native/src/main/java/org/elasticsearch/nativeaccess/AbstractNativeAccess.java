@@ -51,6 +51,12 @@ abstract class AbstractNativeAccess implements NativeAccess {
         return javaLib.newBuffer(len);
     }
 
+    @Override
+    public CloseableByteBuffer newAutoBuffer(int len) {
+        assert len > 0;
+        return javaLib.newAutoBuffer(len);
+    }
+
     @Override
     public boolean isMemoryLocked() {
         return isMemoryLocked;
@@ -95,6 +95,16 @@ public interface NativeAccess {
      */
     CloseableByteBuffer newBuffer(int len);
 
+    /**
+     * Creates a new {@link CloseableByteBuffer} whose memory is freed by the garbage collector once
+     * the buffer is no longer reachable, closing it does nothing. It may be used by any thread, though
+     * not by several threads concurrently. This is useful for buffers that are cached per thread, which
+     * would otherwise leak when their thread terminates.
+     * @param len the number of bytes the buffer should allocate
+     * @return the buffer
+     */
+    CloseableByteBuffer newAutoBuffer(int len);
+
     /**
      * Possible stats for execution filtering.
      */
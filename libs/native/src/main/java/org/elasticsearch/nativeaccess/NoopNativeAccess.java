@@ -83,6 +83,12 @@ class NoopNativeAccess implements NativeAccess {
         return null;
     }
 
+    @Override
+    public CloseableByteBuffer newAutoBuffer(int len) {
+        logger.warn("cannot allocate buffer because native access is not available");
+        return null;
+    }
+
     @Override
     public Optional<VectorSimilarityFunctions> getVectorSimilarityFunctions() {
         logger.warn("cannot get vector distance because native access is not available");
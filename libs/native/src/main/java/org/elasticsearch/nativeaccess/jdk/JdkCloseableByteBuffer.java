@@ -16,6 +16,7 @@ import java.lang.foreign.MemorySegment;
 import java.nio.ByteBuffer;
 
 class JdkCloseableByteBuffer implements CloseableByteBuffer {
+    // null if the segment is freed by the garbage collector
     private final Arena arena;
     final MemorySegment segment;
     private final ByteBuffer bufferView;
@@ -26,6 +27,12 @@ class JdkCloseableByteBuffer implements CloseableByteBuffer {
         this.bufferView = segment.asByteBuffer();
     }
 
+    JdkCloseableByteBuffer(MemorySegment autoSegment) {
+        this.arena = null;
+        this.segment = autoSegment;
+        this.bufferView = segment.asByteBuffer();
+    }
+
     @Override
     public ByteBuffer buffer() {
         return bufferView;
@@ -33,6 +40,8 @@ class JdkCloseableByteBuffer implements CloseableByteBuffer {
 
     @Override
     public void close() {
-        arena.close();
+        if (arena != null) {
+            arena.close();
+        }
     }
 }
@@ -105,7 +105,10 @@ public class JsonXContentParser extends AbstractXContentParser {
 
     @Override
     public String text() throws IOException {
-        if (currentToken().isValue() == false) {
+        // checking the jackson token directly rather than going through #currentToken(), this is called for every string value we parse
+        final JsonToken token = parser.currentToken();
+        // jackson considers null a scalar value, but it is not text
+        if (token == null || token.isScalarValue() == false || token == JsonToken.VALUE_NULL) {
             throwOnNoText();
         }
         try {
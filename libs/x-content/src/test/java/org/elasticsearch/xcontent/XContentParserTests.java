@@ -327,6 +327,28 @@ public class XContentParserTests extends ESTestCase {
         }
     }
 
+    public void testTextOnNonTextValues() throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject().nullField("null").startArray("array").endArray().endObject();
+
+        try (XContentParser parser = createParser(JsonXContent.jsonXContent, Strings.toString(builder))) {
+            assertEquals(XContentParser.Token.START_OBJECT, parser.nextToken());
+            IllegalArgumentException e = expectThrows(IllegalArgumentException.class, parser::text);
+            assertThat(e.getMessage(), containsString("but found START_OBJECT"));
+
+            assertEquals(XContentParser.Token.FIELD_NAME, parser.nextToken());
+            assertEquals(XContentParser.Token.VALUE_NULL, parser.nextToken());
+            e = expectThrows(IllegalArgumentException.class, parser::text);
+            assertThat(e.getMessage(), containsString("Expected text"));
+            assertThat(e.getMessage(), containsString("but found VALUE_NULL"));
+            assertNull(parser.textOrNull());
+
+            assertEquals(XContentParser.Token.FIELD_NAME, parser.nextToken());
+            assertEquals(XContentParser.Token.START_ARRAY, parser.nextToken());
+            e = expectThrows(IllegalArgumentException.class, parser::text);
+            assertThat(e.getMessage(), containsString("but found START_ARRAY"));
+        }
+    }
+
     public void testEmptyList() throws IOException {
         XContentBuilder builder = XContentFactory.jsonBuilder().startObject().startArray("some_array").endArray().endObject();
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+
+import org.elasticsearch.http.netty4.internal.HttpHeadersAuthenticatorUtils;
+
+import java.util.List;
+
+/**
+ * Makes the requests that {@link Http2StreamFrameToHttpObjectCodec} decodes from an HTTP/2 stream look like the ones that
+ * {@link HttpRequestDecoder} decodes from an HTTP/1 connection, so that the rest of the pipeline handles both the same way. The headers
+ * always come as a separate message, also for requests without content which the codec decodes as a single {@link FullHttpRequest},
+ * and they are wrapped so that they can be authenticated if a validator runs on them.
+ */
+class Netty4Http2RequestAdapter extends MessageToMessageDecoder<HttpRequest> {
+
+    private final boolean wrapForAuthentication;
+
+    Netty4Http2RequestAdapter(boolean wrapForAuthentication) {
+        super(HttpRequest.class);
+        this.wrapForAuthentication = wrapForAuthentication;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, HttpRequest request, List<Object> out) {
+        if (wrapForAuthentication) {
+            out.add(HttpHeadersAuthenticatorUtils.wrapAsMessageWithAuthenticationContext(request));
+        } else if (request instanceof FullHttpRequest) {
+            out.add(new DefaultHttpRequest(request.protocolVersion(), request.method(), request.uri(), request.headers()));
+        } else {
+            out.add(request);
+        }
+        if (request instanceof FullHttpRequest fullHttpRequest) {
+            // the request is released once decoded, its content must outlive it
+            out.add(new DefaultLastHttpContent(fullHttpRequest.content().retain(), fullHttpRequest.trailingHeaders()));
+        }
+    }
+}
@@ -17,6 +17,7 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.LastHttpContent;
 
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.http.HttpPreRequest;
 import org.elasticsearch.http.netty4.internal.HttpHeadersAuthenticatorUtils;
 
@@ -34,7 +35,7 @@ public class Netty4HttpAggregator extends HttpObjectAggregator {
     private final Netty4HttpContentSizeHandler streamContentSizeHandler;
     private boolean aggregating = true;
 
-    public Netty4HttpAggregator(int maxContentLength, Predicate<HttpPreRequest> decider, HttpRequestDecoder decoder) {
+    public Netty4HttpAggregator(int maxContentLength, Predicate<HttpPreRequest> decider, @Nullable HttpRequestDecoder decoder) {
         super(maxContentLength);
         this.decider = decider;
         this.streamContentSizeHandler = new Netty4HttpContentSizeHandler(decoder, maxContentLength);
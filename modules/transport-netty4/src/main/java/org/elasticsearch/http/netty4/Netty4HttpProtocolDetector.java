@@ -0,0 +1,51 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+
+import java.util.List;
+
+/**
+ * Picks the HTTP version of a connection from its first bytes. HTTP/2 clients open the connection with a fixed preface, whether they
+ * know that the server supports HTTP/2 beforehand or negotiated it via ALPN, and anything else is treated as HTTP/1. Once decided, the
+ * matching handlers are installed after this one, which then removes itself and passes the bytes it has seen on to them.
+ */
+class Netty4HttpProtocolDetector extends ByteToMessageDecoder {
+
+    private static final ByteBuf CONNECTION_PREFACE = Unpooled.unreleasableBuffer(Http2CodecUtil.connectionPrefaceBuf()).asReadOnly();
+
+    private final Runnable http1Initializer;
+    private final Runnable http2Initializer;
+
+    Netty4HttpProtocolDetector(Runnable http1Initializer, Runnable http2Initializer) {
+        this.http1Initializer = http1Initializer;
+        this.http2Initializer = http2Initializer;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        final int prefaceLength = CONNECTION_PREFACE.readableBytes();
+        final int bytesToCompare = Math.min(in.readableBytes(), prefaceLength);
+        if (ByteBufUtil.equals(CONNECTION_PREFACE, CONNECTION_PREFACE.readerIndex(), in, in.readerIndex(), bytesToCompare) == false) {
+            http1Initializer.run();
+            ctx.pipeline().remove(this);
+        } else if (bytesToCompare == prefaceLength) {
+            http2Initializer.run();
+            ctx.pipeline().remove(this);
+        }
+        // otherwise wait for more bytes, auto-read is disabled but the decoder reads again when a read produced no message
+    }
+}
@@ -29,7 +29,16 @@ import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.flow.FlowControlHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslCloseCompletionEvent;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
@@ -77,6 +86,9 @@ import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_MAX_CHUNK_SIZE;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_MAX_HEADER_SIZE;
 import static org.elasticsearch.http.HttpTransportSettings.SETTING_HTTP_MAX_INITIAL_LINE_LENGTH;
@@ -104,6 +116,7 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
     private final IncrementalBulkService.Enabled enabled;
     private final ThreadWatchdog threadWatchdog;
     private final int readTimeoutMillis;
+    private final boolean http2Enabled;
 
     private final int maxCompositeBufferComponents;
 
@@ -147,6 +160,7 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
         this.maxCompositeBufferComponents = Netty4Plugin.SETTING_HTTP_NETTY_MAX_COMPOSITE_BUFFER_COMPONENTS.get(settings);
 
         this.readTimeoutMillis = Math.toIntExact(SETTING_HTTP_READ_TIMEOUT.get(settings).getMillis());
+        this.http2Enabled = Netty4Plugin.SETTING_HTTP_NETTY_HTTP2_ENABLED.get(settings);
 
         ByteSizeValue receivePredictor = Netty4Plugin.SETTING_HTTP_NETTY_RECEIVE_PREDICTOR_SIZE.get(settings);
         recvByteBufAllocator = new FixedRecvByteBufAllocator(receivePredictor.bytesAsInt());
@@ -292,6 +306,11 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
     static final AttributeKey<Netty4HttpChannel> HTTP_CHANNEL_KEY = AttributeKey.newInstance("es-http-channel");
     static final AttributeKey<Netty4HttpServerChannel> HTTP_SERVER_CHANNEL_KEY = AttributeKey.newInstance("es-http-server-channel");
 
+    /**
+     * Connection-level flow-control window of an HTTP/2 connection, room for the default window of 16 streams.
+     */
+    static final int HTTP2_CONNECTION_WINDOW_SIZE = 16 * Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+
     protected static class HttpChannelHandler extends ChannelInitializer<Channel> {
 
         private final Netty4HttpServerTransport transport;
@@ -336,7 +355,16 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                     );
             }
             if (tlsConfig.isTLSEnabled()) {
-                ch.pipeline().addLast("ssl", new SslHandler(tlsConfig.createServerSSLEngine()));
+                final SSLEngine sslEngine = tlsConfig.createServerSSLEngine();
+                if (transport.http2Enabled) {
+                    // lets TLS clients negotiate HTTP/2, the protocol detector below then recognizes the preface they start with
+                    final SSLParameters sslParameters = sslEngine.getSSLParameters();
+                    sslParameters.setApplicationProtocols(
+                        new String[] { ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1 }
+                    );
+                    sslEngine.setSSLParameters(sslParameters);
+                }
+                ch.pipeline().addLast("ssl", new SslHandler(sslEngine));
             }
             final var threadWatchdogActivityTracker = transport.threadWatchdog.getActivityTrackerForCurrentThread();
             ch.pipeline()
@@ -348,6 +376,26 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
             if (transport.readTimeoutMillis > 0) {
                 ch.pipeline().addLast("read_timeout", new ReadTimeoutHandler(transport.readTimeoutMillis, TimeUnit.MILLISECONDS));
             }
+            if (transport.http2Enabled) {
+                ch.pipeline()
+                    .addLast(
+                        "protocol_detector",
+                        new Netty4HttpProtocolDetector(
+                            () -> initHttp1Channel(ch, threadWatchdogActivityTracker),
+                            () -> initHttp2Channel(ch, threadWatchdogActivityTracker)
+                        )
+                    );
+            } else {
+                initHttp1Channel(ch, threadWatchdogActivityTracker);
+            }
+            // the connection is tracked whichever protocol it turns out to speak, and on HTTP/2 its streams are tracked against it
+            transport.serverAcceptedChannel(nettyHttpChannel);
+
+            // make very first read call, since auto-read is disabled; following reads must come from the handlers
+            ch.read();
+        }
+
+        private void initHttp1Channel(Channel ch, ThreadWatchdog.ActivityTracker threadWatchdogActivityTracker) {
             final HttpRequestDecoder decoder;
             if (httpValidator != null) {
                 decoder = new HttpRequestDecoder(
@@ -377,6 +425,65 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                 ch.pipeline().addLast(new MissingReadDetector(transport.threadPool, missingReadIntervalMs));
             }
 
+            addRequestHandlers(ch, decoder, new HttpResponseEncoder() {
+                @Override
+                protected boolean isContentAlwaysEmpty(HttpResponse msg) {
+                    // non-chunked responses (Netty4HttpResponse extends Netty's DefaultFullHttpResponse) with chunked transfer
+                    // encoding are only sent by us in response to HEAD requests and must always have an empty body
+                    if (msg instanceof Netty4FullHttpResponse netty4FullHttpResponse && HttpUtil.isTransferEncodingChunked(msg)) {
+                        assert netty4FullHttpResponse.content().isReadable() == false;
+                        return true;
+                    }
+                    return super.isContentAlwaysEmpty(msg);
+                }
+            }, threadWatchdogActivityTracker);
+        }
+
+        private void initHttp2Channel(Channel ch, ThreadWatchdog.ActivityTracker threadWatchdogActivityTracker) {
+            // the connection itself only carries frames, each request gets a stream, so the connection is read again as soon as the
+            // frames of the previous read are dispatched and the per-stream flow control below limits how much of each request is
+            // buffered
+            final Http2Settings http2Settings = Http2Settings.defaultSettings()
+                .maxConcurrentStreams(transport.pipeliningMaxEvents)
+                .maxHeaderListSize(handlingSettings.maxHeaderSize());
+            if (Assertions.ENABLED) {
+                long missingReadIntervalMs = 10_000;
+                ch.pipeline().addLast(new MissingReadDetector(transport.threadPool, missingReadIntervalMs));
+            }
+            ch.pipeline()
+                .addLast("http2_codec", Http2FrameCodecBuilder.forServer().initialSettings(http2Settings).build())
+                .addLast("http2_multiplexer", new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                    @Override
+                    protected void initChannel(Http2StreamChannel stream) {
+                        initHttp2Stream(stream, threadWatchdogActivityTracker);
+                    }
+                }))
+                .addLast("http2_connection", new Http2ConnectionEventHandler(transport));
+            // the bytes of a stream whose content is not consumed yet keep holding their share of the connection window, so give the
+            // connection room for several such streams before the data of the others is held up too
+            ch.writeAndFlush(new DefaultHttp2WindowUpdateFrame(HTTP2_CONNECTION_WINDOW_SIZE - Http2CodecUtil.DEFAULT_WINDOW_SIZE));
+        }
+
+        private void initHttp2Stream(Http2StreamChannel stream, ThreadWatchdog.ActivityTracker threadWatchdogActivityTracker) {
+            // a stream is read on demand like an HTTP/1 connection, the client only gets more flow-control credit for a stream once
+            // its content has been consumed, so a slowly consumed request does not hold up the other streams of the connection
+            stream.config().setAutoRead(false);
+            Netty4HttpChannel nettyHttpChannel = new Netty4HttpChannel(stream);
+            stream.attr(HTTP_CHANNEL_KEY).set(nettyHttpChannel);
+            stream.pipeline()
+                .addLast("http2_stream_codec", new Http2StreamFrameToHttpObjectCodec(true))
+                .addLast("http2_request", new Netty4Http2RequestAdapter(httpValidator != null));
+            addRequestHandlers(stream, null, null, threadWatchdogActivityTracker);
+            transport.serverAcceptedStream(stream.parent().attr(HTTP_CHANNEL_KEY).get(), nettyHttpChannel);
+            stream.read();
+        }
+
+        private void addRequestHandlers(
+            Channel ch,
+            @Nullable HttpRequestDecoder decoder,
+            @Nullable HttpResponseEncoder encoder,
+            ThreadWatchdog.ActivityTracker threadWatchdogActivityTracker
+        ) {
             if (httpValidator != null) {
                 // runs a validation function on the first HTTP message piece which contains all the headers
                 // if validation passes, the pieces of that particular request are forwarded, otherwise they are discarded
@@ -398,21 +505,11 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                 decoder
             );
             aggregator.setMaxCumulationBufferComponents(transport.maxCompositeBufferComponents);
-            ch.pipeline()
-                .addLast("decoder_compress", new HttpContentDecompressor()) // this handles request body decompression
-                .addLast("encoder", new HttpResponseEncoder() {
-                    @Override
-                    protected boolean isContentAlwaysEmpty(HttpResponse msg) {
-                        // non-chunked responses (Netty4HttpResponse extends Netty's DefaultFullHttpResponse) with chunked transfer
-                        // encoding are only sent by us in response to HEAD requests and must always have an empty body
-                        if (msg instanceof Netty4FullHttpResponse netty4FullHttpResponse && HttpUtil.isTransferEncodingChunked(msg)) {
-                            assert netty4FullHttpResponse.content().isReadable() == false;
-                            return true;
-                        }
-                        return super.isContentAlwaysEmpty(msg);
-                    }
-                })
-                .addLast("aggregator", aggregator);
+            ch.pipeline().addLast("decoder_compress", new HttpContentDecompressor()); // this handles request body decompression
+            if (encoder != null) {
+                ch.pipeline().addLast("encoder", encoder);
+            }
+            ch.pipeline().addLast("aggregator", aggregator);
             if (handlingSettings.compression()) {
                 ch.pipeline().addLast("encoder_compress", new HttpContentCompressor(handlingSettings.compressionLevel()) {
                     @Override
@@ -437,10 +534,6 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
                     "pipelining",
                     new Netty4HttpPipeliningHandler(transport.pipeliningMaxEvents, transport, threadWatchdogActivityTracker)
                 );
-            transport.serverAcceptedChannel(nettyHttpChannel);
-
-            // make very first read call, since auto-read is disabled; following reads must come from the handlers
-            ch.read();
         }
 
         @Override
@@ -450,6 +543,48 @@ public class Netty4HttpServerTransport extends AbstractHttpServerTransport {
         }
     }
 
+    /**
+     * Handles what reaches the end of the pipeline of an HTTP/2 connection rather than the pipeline of one of its streams, which is
+     * what {@link Netty4HttpPipeliningHandler} handles on an HTTP/1 connection.
+     */
+    private static class Http2ConnectionEventHandler extends ChannelInboundHandlerAdapter {
+
+        private final Netty4HttpServerTransport transport;
+
+        Http2ConnectionEventHandler(Netty4HttpServerTransport transport) {
+            this.transport = transport;
+        }
+
+        @Override
+        public void channelReadComplete(ChannelHandlerContext ctx) {
+            // auto-read stays disabled on the connection too, the frames of the last read have all been handed to their streams
+            ctx.read();
+            ctx.fireChannelReadComplete();
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ExceptionsHelper.maybeDieOnAnotherThread(cause);
+            Netty4HttpChannel channel = ctx.channel().attr(HTTP_CHANNEL_KEY).get();
+            if (cause instanceof Error) {
+                transport.onException(channel, new Exception(cause));
+            } else {
+                transport.onException(channel, (Exception) cause);
+            }
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof SslCloseCompletionEvent closeEvent) {
+                if (closeEvent.isSuccess() && ctx.channel().isActive()) {
+                    logger.trace("received TLS close_notify, closing connection {}", ctx.channel());
+                    ctx.channel().close();
+                }
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+    }
+
     @ChannelHandler.Sharable
     private static class ServerChannelExceptionHandler extends ChannelInboundHandlerAdapter {
 
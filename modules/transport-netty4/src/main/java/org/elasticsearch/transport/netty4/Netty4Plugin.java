@@ -60,6 +60,16 @@ public class Netty4Plugin extends Plugin implements NetworkPlugin {
         ByteSizeValue.of(64, ByteSizeUnit.KB),
         Setting.Property.NodeScope
     );
+    /*
+     * Lets HTTP clients talk HTTP/2 to the node, either with prior knowledge on plaintext connections or by negotiating it via ALPN on TLS
+     * connections. Every request then gets its own stream with its own flow control, so a slow request body does not hold up the other
+     * requests on the same connection. HTTP/1 clients are unaffected, the protocol is picked per connection.
+     */
+    public static final Setting<Boolean> SETTING_HTTP_NETTY_HTTP2_ENABLED = Setting.boolSetting(
+        "http.netty.http2.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
     public static final Setting<Integer> WORKER_COUNT = new Setting<>(
         "transport.netty.worker_count",
         (s) -> Integer.toString(EsExecutors.allocatedProcessors(s)),
@@ -130,6 +140,7 @@ public class Netty4Plugin extends Plugin implements NetworkPlugin {
             SETTING_HTTP_NETTY_MAX_COMPOSITE_BUFFER_COMPONENTS,
             SETTING_HTTP_WORKER_COUNT,
             SETTING_HTTP_NETTY_RECEIVE_PREDICTOR_SIZE,
+            SETTING_HTTP_NETTY_HTTP2_ENABLED,
             WORKER_COUNT,
             NETTY_RECEIVE_PREDICTOR_SIZE,
             NETTY_RECEIVE_PREDICTOR_MIN,
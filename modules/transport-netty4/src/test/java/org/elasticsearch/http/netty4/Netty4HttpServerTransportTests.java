@@ -22,10 +22,12 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerAdapter;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
@@ -36,9 +38,17 @@ import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 
 import org.apache.http.ConnectionClosedException;
 import org.apache.http.HttpHost;
@@ -70,6 +80,7 @@ import org.elasticsearch.core.Tuple;
 import org.elasticsearch.http.AbstractHttpServerTransportTestCase;
 import org.elasticsearch.http.BindHttpException;
 import org.elasticsearch.http.CorsHandler;
+import org.elasticsearch.http.HttpBody;
 import org.elasticsearch.http.HttpHeadersValidationException;
 import org.elasticsearch.http.HttpServerTransport;
 import org.elasticsearch.http.HttpTransportSettings;
@@ -107,6 +118,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
@@ -693,6 +705,261 @@ public class Netty4HttpServerTransportTests extends AbstractHttpServerTransportT
         }
     }
 
+    public void testHttp2WithPriorKnowledge() throws Exception {
+        final HttpServerTransport.Dispatcher dispatcher = new HttpServerTransport.Dispatcher() {
+
+            @Override
+            public void dispatchRequest(final RestRequest request, final RestChannel channel, final ThreadContext threadContext) {
+                channel.sendResponse(new RestResponse(OK, RestResponse.TEXT_CONTENT_TYPE, new BytesArray(request.uri())));
+            }
+
+            @Override
+            public void dispatchBadRequest(final RestChannel channel, final ThreadContext threadContext, final Throwable cause) {
+                logger.error(() -> "--> Unexpected bad request [" + FakeRestRequest.requestToString(channel.request()) + "]", cause);
+                throw new AssertionError();
+            }
+
+        };
+
+        final Settings settings = createBuilderWithPort().put(Netty4Plugin.SETTING_HTTP_NETTY_HTTP2_ENABLED.getKey(), true).build();
+        final NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try (
+            Netty4HttpServerTransport transport = new Netty4HttpServerTransport(
+                settings,
+                networkService,
+                threadPool,
+                xContentRegistry(),
+                dispatcher,
+                clusterSettings,
+                new SharedGroupFactory(settings),
+                Tracer.NOOP,
+                TLSConfig.noTLS(),
+                null,
+                randomFrom((httpPreRequest, channel, listener) -> listener.onResponse(null), null)
+            )
+        ) {
+            transport.start();
+            final TransportAddress remoteAddress = randomFrom(transport.boundAddress().boundAddresses());
+
+            final Channel connection = new Bootstrap().option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator())
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline()
+                            .addLast(Http2FrameCodecBuilder.forClient().build())
+                            .addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+                    }
+                })
+                .group(group)
+                .connect(remoteAddress.address())
+                .sync()
+                .channel();
+            try {
+                // all requests share the connection, each one on its own stream
+                final int numRequests = between(2, 5);
+                final List<PlainActionFuture<FullHttpResponse>> responses = new ArrayList<>();
+                for (int i = 0; i < numRequests; i++) {
+                    final PlainActionFuture<FullHttpResponse> response = new PlainActionFuture<>();
+                    final Http2StreamChannel stream = new Http2StreamChannelBootstrap(connection).handler(
+                        new ChannelInitializer<Http2StreamChannel>() {
+
+                            @Override
+                            protected void initChannel(Http2StreamChannel ch) {
+                                ch.pipeline()
+                                    .addLast(new Http2StreamFrameToHttpObjectCodec(false))
+                                    .addLast(new HttpObjectAggregator(1024))
+                                    .addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                                        @Override
+                                        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+                                            response.onResponse(msg.retain());
+                                        }
+                                    });
+                            }
+                        }
+                    ).open().sync().getNow();
+                    stream.writeAndFlush(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/stream-" + i));
+                    responses.add(response);
+                }
+                for (int i = 0; i < numRequests; i++) {
+                    final FullHttpResponse response = safeGet(responses.get(i));
+                    try {
+                        assertThat(response.status(), equalTo(HttpResponseStatus.OK));
+                        assertThat(response.content().toString(StandardCharsets.UTF_8), equalTo("/stream-" + i));
+                    } finally {
+                        response.release();
+                    }
+                }
+            } finally {
+                connection.close().sync();
+            }
+
+            // the protocol is picked per connection, HTTP/1 clients are still served
+            try (Netty4HttpClient client = new Netty4HttpClient()) {
+                final FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/http1");
+                final FullHttpResponse response = client.send(remoteAddress.address(), request);
+                try {
+                    assertThat(response.status(), equalTo(HttpResponseStatus.OK));
+                    assertThat(response.content().toString(StandardCharsets.UTF_8), equalTo("/http1"));
+                } finally {
+                    response.release();
+                }
+            }
+        } finally {
+            group.shutdownGracefully().await();
+        }
+    }
+
+    public void testHttp2SlowlyConsumedStreamDoesNotStallOtherStreams() throws Exception {
+        final PlainActionFuture<HttpBody.Stream> slowBody = new PlainActionFuture<>();
+        final HttpServerTransport.Dispatcher dispatcher = new HttpServerTransport.Dispatcher() {
+
+            @Override
+            public void dispatchRequest(final RestRequest request, final RestChannel channel, final ThreadContext threadContext) {
+                if (request.isStreamedContent()) {
+                    // the body of a bulk request is only read when the test asks for it
+                    final HttpBody.Stream stream = request.contentStream();
+                    final AtomicInteger received = new AtomicInteger();
+                    stream.setHandler((chunk, isLast) -> {
+                        received.addAndGet(chunk.length());
+                        chunk.close();
+                        if (isLast) {
+                            channel.sendResponse(new RestResponse(OK, RestResponse.TEXT_CONTENT_TYPE, new BytesArray(received.toString())));
+                        } else {
+                            stream.next();
+                        }
+                    });
+                    slowBody.onResponse(stream);
+                } else {
+                    final String length = Integer.toString(request.content().length());
+                    channel.sendResponse(new RestResponse(OK, RestResponse.TEXT_CONTENT_TYPE, new BytesArray(length)));
+                }
+            }
+
+            @Override
+            public void dispatchBadRequest(final RestChannel channel, final ThreadContext threadContext, final Throwable cause) {
+                logger.error(() -> "--> Unexpected bad request [" + FakeRestRequest.requestToString(channel.request()) + "]", cause);
+                throw new AssertionError();
+            }
+
+        };
+
+        final Settings settings = createBuilderWithPort().put(Netty4Plugin.SETTING_HTTP_NETTY_HTTP2_ENABLED.getKey(), true).build();
+        final NioEventLoopGroup group = new NioEventLoopGroup(1);
+        try (
+            Netty4HttpServerTransport transport = new Netty4HttpServerTransport(
+                settings,
+                networkService,
+                threadPool,
+                xContentRegistry(),
+                dispatcher,
+                clusterSettings,
+                new SharedGroupFactory(settings),
+                Tracer.NOOP,
+                TLSConfig.noTLS(),
+                null,
+                null
+            )
+        ) {
+            transport.start();
+            final TransportAddress remoteAddress = randomFrom(transport.boundAddress().boundAddresses());
+
+            final PlainActionFuture<Void> goAway = new PlainActionFuture<>();
+            final Channel connection = new Bootstrap().option(ChannelOption.ALLOCATOR, NettyAllocator.getAllocator())
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline()
+                            .addLast(Http2FrameCodecBuilder.forClient().build())
+                            .addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()))
+                            .addLast(new SimpleChannelInboundHandler<Http2GoAwayFrame>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, Http2GoAwayFrame msg) {
+                                    goAway.onResponse(null);
+                                }
+                            });
+                    }
+                })
+                .group(group)
+                .connect(remoteAddress.address())
+                .sync()
+                .channel();
+            try {
+                // more than the stream window, so that the stream's unread bytes hold on to their share of the connection window
+                final int slowLength = between(4, 8) * Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+                final PlainActionFuture<FullHttpResponse> slowResponse = new PlainActionFuture<>();
+                openHttp2Stream(connection, slowResponse).writeAndFlush(
+                    new DefaultFullHttpRequest(
+                        HttpVersion.HTTP_1_1,
+                        HttpMethod.POST,
+                        "/_bulk",
+                        Unpooled.buffer(slowLength).writeZero(slowLength)
+                    )
+                );
+                final HttpBody.Stream slowStream = safeGet(slowBody);
+
+                final int fastLength = between(1, Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+                final PlainActionFuture<FullHttpResponse> fastResponse = new PlainActionFuture<>();
+                openHttp2Stream(connection, fastResponse).writeAndFlush(
+                    new DefaultFullHttpRequest(
+                        HttpVersion.HTTP_1_1,
+                        HttpMethod.POST,
+                        "/fast",
+                        Unpooled.buffer(fastLength).writeZero(fastLength)
+                    )
+                );
+                assertResponse(safeGet(fastResponse), Integer.toString(fastLength));
+                assertFalse(slowResponse.isDone());
+
+                // streams are not connections
+                assertThat(transport.stats().getServerOpen(), equalTo(1L));
+                assertThat(transport.stats().getTotalOpen(), equalTo(1L));
+
+                slowStream.next();
+                assertResponse(safeGet(slowResponse), Integer.toString(slowLength));
+
+                // stopping closes the idle connection, which tells the client to go away
+                transport.stop();
+                safeGet(goAway);
+                connection.closeFuture().sync();
+            } finally {
+                connection.close().sync();
+            }
+        } finally {
+            group.shutdownGracefully().await();
+        }
+    }
+
+    private static Http2StreamChannel openHttp2Stream(Channel connection, PlainActionFuture<FullHttpResponse> response) throws Exception {
+        return new Http2StreamChannelBootstrap(connection).handler(new ChannelInitializer<Http2StreamChannel>() {
+
+            @Override
+            protected void initChannel(Http2StreamChannel ch) {
+                ch.pipeline()
+                    .addLast(new Http2StreamFrameToHttpObjectCodec(false))
+                    .addLast(new HttpObjectAggregator(1024))
+                    .addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                        @Override
+                        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+                            response.onResponse(msg.retain());
+                        }
+                    });
+            }
+        }).open().sync().getNow();
+    }
+
+    private static void assertResponse(FullHttpResponse response, String expectedContent) {
+        try {
+            assertThat(response.status(), equalTo(HttpResponseStatus.OK));
+            assertThat(response.content().toString(StandardCharsets.UTF_8), equalTo(expectedContent));
+        } finally {
+            response.release();
+        }
+    }
+
     public void testHeadRequestToChunkedApi() throws InterruptedException {
         final HttpServerTransport.Dispatcher dispatcher = new HttpServerTransport.Dispatcher() {
 
@@ -9,10 +9,12 @@
 
 package org.elasticsearch.action.bulk;
 
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.logging.DeprecationLogger;
 import org.elasticsearch.common.lucene.uid.Versions;
@@ -31,6 +33,7 @@ import org.elasticsearch.xcontent.XContentParserConfiguration;
 import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -222,6 +225,11 @@ public final class BulkRequestParser {
         private boolean currentListExecutedPipelines = false;
         private FetchSourceContext currentFetchSourceContext = null;
 
+        // Log and metric shippers usually send the same action/metadata line for every document, so we keep the last line we parsed
+        // around and reuse its metadata if the next line has the same bytes instead of parsing it again.
+        private BytesReference lastActionLine = null;
+        private ActionMetadata lastActionMetadata = null;
+
         private IncrementalParser(
             @Nullable String defaultIndex,
             @Nullable String defaultRouting,
@@ -299,18 +307,44 @@ public final class BulkRequestParser {
         private boolean parseActionLine(BytesReference data, int from, int to) throws IOException {
             assert currentRequest == null;
 
-            // Reset the fields which are accessed during document line parsing
-            currentType = null;
-            currentPipeline = defaultPipeline;
-            currentListExecutedPipelines = defaultListExecutedPipelines != null && defaultListExecutedPipelines;
-            currentFetchSourceContext = defaultFetchSourceContext;
+            final BytesReference actionLine = data.slice(from, to - from);
+            final ActionMetadata metadata;
+            if (lastActionMetadata != null && actionLine.equals(lastActionLine)) {
+                metadata = lastActionMetadata;
+            } else {
+                metadata = parseActionMetadata(data, from, to);
+                if (metadata == null) {
+                    return false;
+                }
+                // lines with an explicit id are unlikely to be repeated, so we don't bother copying them
+                if (metadata.id() == null) {
+                    lastActionLine = new BytesArray(BytesRef.deepCopyOf(actionLine.toBytesRef()));
+                    lastActionMetadata = metadata;
+                }
+            }
+
+            // Set the fields which are accessed during document line parsing
+            currentType = metadata.type();
+            currentPipeline = metadata.pipeline();
+            currentListExecutedPipelines = metadata.listExecutedPipelines();
+            currentFetchSourceContext = metadata.fetchSourceContext();
+            currentRequest = metadata.newRequest(line, config.includeSourceOnError());
+            return true;
+        }
+
+        @Nullable
+        private ActionMetadata parseActionMetadata(BytesReference data, int from, int to) throws IOException {
+            String type = null;
+            String pipeline = defaultPipeline;
+            boolean listExecutedPipelines = defaultListExecutedPipelines != null && defaultListExecutedPipelines;
+            FetchSourceContext fetchSourceContext = defaultFetchSourceContext;
 
             try (XContentParser parser = createParser(xContentType.xContent(), data, from, to)) {
 
                 // Move to START_OBJECT
                 XContentParser.Token token = parser.nextToken();
                 if (token == null) {
-                    return false;
+                    return null;
                 }
                 if (token != XContentParser.Token.START_OBJECT) {
                     throw new IllegalArgumentException(
@@ -381,7 +415,7 @@ public final class BulkRequestParser {
                                         "Action/metadata line [" + line + "] contains an unknown parameter [" + currentFieldName + "]"
                                     );
                                 }
-                                currentType = stringDeduplicator.computeIfAbsent(parser.text(), Function.identity());
+                                type = stringDeduplicator.computeIfAbsent(parser.text(), Function.identity());
                             } else if (ID.match(currentFieldName, parser.getDeprecationHandler())) {
                                 id = parser.text();
                             } else if (ROUTING.match(currentFieldName, parser.getDeprecationHandler())) {
@@ -399,15 +433,15 @@ public final class BulkRequestParser {
                             } else if (RETRY_ON_CONFLICT.match(currentFieldName, parser.getDeprecationHandler())) {
                                 retryOnConflict = parser.intValue();
                             } else if (PIPELINE.match(currentFieldName, parser.getDeprecationHandler())) {
-                                currentPipeline = stringDeduplicator.computeIfAbsent(parser.text(), Function.identity());
+                                pipeline = stringDeduplicator.computeIfAbsent(parser.text(), Function.identity());
                             } else if (SOURCE.match(currentFieldName, parser.getDeprecationHandler())) {
-                                currentFetchSourceContext = FetchSourceContext.fromXContent(parser);
+                                fetchSourceContext = FetchSourceContext.fromXContent(parser);
                             } else if (REQUIRE_ALIAS.match(currentFieldName, parser.getDeprecationHandler())) {
                                 requireAlias = parser.booleanValue();
                             } else if (REQUIRE_DATA_STREAM.match(currentFieldName, parser.getDeprecationHandler())) {
                                 requireDataStream = parser.booleanValue();
                             } else if (LIST_EXECUTED_PIPELINES.match(currentFieldName, parser.getDeprecationHandler())) {
-                                currentListExecutedPipelines = parser.booleanValue();
+                                listExecutedPipelines = parser.booleanValue();
                             } else {
                                 throw new IllegalArgumentException(
                                     "Action/metadata line [" + line + "] contains an unknown parameter [" + currentFieldName + "]"
@@ -425,10 +459,10 @@ public final class BulkRequestParser {
                             );
                         } else if (token == XContentParser.Token.START_OBJECT
                             && DYNAMIC_TEMPLATES.match(currentFieldName, parser.getDeprecationHandler())) {
-                                dynamicTemplates = parser.mapStrings();
+                                dynamicTemplates = Collections.unmodifiableMap(parser.mapStrings());
                             } else if (token == XContentParser.Token.START_OBJECT
                                 && SOURCE.match(currentFieldName, parser.getDeprecationHandler())) {
-                                    currentFetchSourceContext = FetchSourceContext.fromXContent(parser);
+                                    fetchSourceContext = FetchSourceContext.fromXContent(parser);
                                 } else if (token != XContentParser.Token.VALUE_NULL) {
                                     throw new IllegalArgumentException(
                                         "Malformed action/metadata line ["
@@ -456,71 +490,26 @@ public final class BulkRequestParser {
                 }
                 checkBulkActionIsProperlyClosed(parser, line);
 
-                if ("delete".equals(action)) {
-                    if (dynamicTemplates.isEmpty() == false) {
-                        throw new IllegalArgumentException(
-                            "Delete request in line [" + line + "] does not accept " + DYNAMIC_TEMPLATES.getPreferredName()
-                        );
-                    }
-                    currentRequest = new DeleteRequest(index).id(id)
-                        .routing(routing)
-                        .version(version)
-                        .versionType(versionType)
-                        .setIfSeqNo(ifSeqNo)
-                        .setIfPrimaryTerm(ifPrimaryTerm);
-                } else {
-                    // we use internalAdd so we don't fork here, this allows us not to copy over the big byte array to small chunks
-                    // of index request.
-                    if ("index".equals(action) || "create".equals(action)) {
-                        var indexRequest = new IndexRequest(index).id(id)
-                            .routing(routing)
-                            .version(version)
-                            .versionType(versionType)
-                            .setPipeline(currentPipeline)
-                            .setIfSeqNo(ifSeqNo)
-                            .setIfPrimaryTerm(ifPrimaryTerm)
-                            .setDynamicTemplates(dynamicTemplates)
-                            .setRequireAlias(requireAlias)
-                            .setRequireDataStream(requireDataStream)
-                            .setListExecutedPipelines(currentListExecutedPipelines)
-                            .setIncludeSourceOnError(config.includeSourceOnError());
-                        if ("create".equals(action)) {
-                            indexRequest = indexRequest.create(true);
-                        } else if (opType != null) {
-                            indexRequest = indexRequest.create("create".equals(opType));
-                        }
-                        currentRequest = indexRequest;
-                    } else if ("update".equals(action)) {
-                        if (version != Versions.MATCH_ANY || versionType != VersionType.INTERNAL) {
-                            throw new IllegalArgumentException(
-                                "Update requests do not support versioning. " + "Please use `if_seq_no` and `if_primary_term` instead"
-                            );
-                        }
-                        if (requireDataStream) {
-                            throw new IllegalArgumentException(
-                                "Update requests do not support the `require_data_stream` flag, "
-                                    + "as data streams do not support update operations"
-                            );
-                        }
-                        // TODO: support dynamic_templates in update requests
-                        if (dynamicTemplates.isEmpty() == false) {
-                            throw new IllegalArgumentException(
-                                "Update request in line [" + line + "] does not accept " + DYNAMIC_TEMPLATES.getPreferredName()
-                            );
-                        }
-                        UpdateRequest updateRequest = new UpdateRequest().index(index)
-                            .id(id)
-                            .routing(routing)
-                            .retryOnConflict(retryOnConflict)
-                            .setIfSeqNo(ifSeqNo)
-                            .setIfPrimaryTerm(ifPrimaryTerm)
-                            .setRequireAlias(requireAlias)
-                            .routing(routing);
-                        currentRequest = updateRequest;
-                    }
-                }
+                return new ActionMetadata(
+                    action,
+                    index,
+                    id,
+                    routing,
+                    opType,
+                    version,
+                    versionType,
+                    ifSeqNo,
+                    ifPrimaryTerm,
+                    retryOnConflict,
+                    requireAlias,
+                    requireDataStream,
+                    dynamicTemplates,
+                    type,
+                    pipeline,
+                    listExecutedPipelines,
+                    fetchSourceContext
+                );
             }
-            return true;
         }
 
         private void parseAndConsumeDocumentLine(BytesReference data, int from, int to) throws IOException {
@@ -631,4 +620,92 @@ public final class BulkRequestParser {
         final int offset = array.arrayOffset();
         return xContent.createParser(config, array.array(), offset + from, nextMarker - from);
     }
+
+    /**
+     * The content of an action/metadata line, from which a new request is created for every document that it applies to.
+     */
+    private record ActionMetadata(
+        String action,
+        String index,
+        @Nullable String id,
+        String routing,
+        @Nullable String opType,
+        long version,
+        VersionType versionType,
+        long ifSeqNo,
+        long ifPrimaryTerm,
+        int retryOnConflict,
+        boolean requireAlias,
+        boolean requireDataStream,
+        Map<String, String> dynamicTemplates,
+        @Nullable String type,
+        @Nullable String pipeline,
+        boolean listExecutedPipelines,
+        @Nullable FetchSourceContext fetchSourceContext
+    ) {
+
+        DocWriteRequest<?> newRequest(int line, boolean includeSourceOnError) {
+            if ("delete".equals(action)) {
+                if (dynamicTemplates.isEmpty() == false) {
+                    throw new IllegalArgumentException(
+                        "Delete request in line [" + line + "] does not accept " + DYNAMIC_TEMPLATES.getPreferredName()
+                    );
+                }
+                return new DeleteRequest(index).id(id)
+                    .routing(routing)
+                    .version(version)
+                    .versionType(versionType)
+                    .setIfSeqNo(ifSeqNo)
+                    .setIfPrimaryTerm(ifPrimaryTerm);
+            } else if ("index".equals(action) || "create".equals(action)) {
+                // we use internalAdd so we don't fork here, this allows us not to copy over the big byte array to small chunks
+                // of index request.
+                var indexRequest = new IndexRequest(index).id(id)
+                    .routing(routing)
+                    .version(version)
+                    .versionType(versionType)
+                    .setPipeline(pipeline)
+                    .setIfSeqNo(ifSeqNo)
+                    .setIfPrimaryTerm(ifPrimaryTerm)
+                    .setDynamicTemplates(dynamicTemplates)
+                    .setRequireAlias(requireAlias)
+                    .setRequireDataStream(requireDataStream)
+                    .setListExecutedPipelines(listExecutedPipelines)
+                    .setIncludeSourceOnError(includeSourceOnError);
+                if ("create".equals(action)) {
+                    indexRequest = indexRequest.create(true);
+                } else if (opType != null) {
+                    indexRequest = indexRequest.create("create".equals(opType));
+                }
+                return indexRequest;
+            } else {
+                assert "update".equals(action) : action;
+                if (version != Versions.MATCH_ANY || versionType != VersionType.INTERNAL) {
+                    throw new IllegalArgumentException(
+                        "Update requests do not support versioning. " + "Please use `if_seq_no` and `if_primary_term` instead"
+                    );
+                }
+                if (requireDataStream) {
+                    throw new IllegalArgumentException(
+                        "Update requests do not support the `require_data_stream` flag, "
+                            + "as data streams do not support update operations"
+                    );
+                }
+                // TODO: support dynamic_templates in update requests
+                if (dynamicTemplates.isEmpty() == false) {
+                    throw new IllegalArgumentException(
+                        "Update request in line [" + line + "] does not accept " + DYNAMIC_TEMPLATES.getPreferredName()
+                    );
+                }
+                return new UpdateRequest().index(index)
+                    .id(id)
+                    .routing(routing)
+                    .retryOnConflict(retryOnConflict)
+                    .setIfSeqNo(ifSeqNo)
+                    .setIfPrimaryTerm(ifPrimaryTerm)
+                    .setRequireAlias(requireAlias)
+                    .routing(routing);
+            }
+        }
+    }
 }
@@ -18,13 +18,20 @@ import org.elasticsearch.action.support.replication.ReplicatedWriteRequest;
 import org.elasticsearch.action.support.replication.ReplicationRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.cluster.metadata.InferenceFieldMetadata;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.RefCounted;
+import org.elasticsearch.core.Releasables;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.transport.RawIndexingDataTransportRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,6 +44,11 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
 
     private final BulkItemRequest[] items;
     private final boolean isSimulated;
+    /**
+     * Releases the sources of the items if this request was read from the wire, since they reference the buffers that the request was
+     * read from rather than copies of them.
+     */
+    private final RefCounted refCounted;
 
     private transient Map<String, InferenceFieldMetadata> inferenceFieldMap = null;
 
@@ -48,6 +60,7 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
         } else {
             isSimulated = false;
         }
+        refCounted = releasingSources(items);
     }
 
     public BulkShardRequest(ShardId shardId, RefreshPolicy refreshPolicy, BulkItemRequest[] items) {
@@ -59,6 +72,29 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
         this.items = items;
         setRefreshPolicy(refreshPolicy);
         this.isSimulated = isSimulated;
+        this.refCounted = RefCounted.ALWAYS_REFERENCED;
+    }
+
+    private static RefCounted releasingSources(BulkItemRequest[] items) {
+        final List<ReleasableBytesReference> sources = new ArrayList<>();
+        for (BulkItemRequest item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.request() instanceof IndexRequest indexRequest) {
+                addReleasableSource(sources, indexRequest);
+            } else if (item.request() instanceof UpdateRequest updateRequest) {
+                addReleasableSource(sources, updateRequest.doc());
+                addReleasableSource(sources, updateRequest.upsertRequest());
+            }
+        }
+        return sources.isEmpty() ? RefCounted.ALWAYS_REFERENCED : AbstractRefCounted.of(() -> Releasables.close(sources));
+    }
+
+    private static void addReleasableSource(List<ReleasableBytesReference> sources, @Nullable IndexRequest request) {
+        if (request != null && request.source() instanceof ReleasableBytesReference source) {
+            sources.add(source);
+        }
     }
 
     /**
@@ -228,4 +264,24 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
     public boolean isSimulated() {
         return isSimulated;
     }
+
+    @Override
+    public void incRef() {
+        refCounted.incRef();
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return refCounted.hasReferences();
+    }
 }
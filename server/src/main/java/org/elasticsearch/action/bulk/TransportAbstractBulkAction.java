@@ -19,6 +19,8 @@ import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.ingest.IngestActionForwarder;
 import org.elasticsearch.action.support.ActionFilters;
 import org.elasticsearch.action.support.HandledTransportAction;
+import org.elasticsearch.action.support.RefCountingListener;
+import org.elasticsearch.action.support.SubscribableListener;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.ClusterStateObserver;
@@ -32,6 +34,7 @@ import org.elasticsearch.cluster.metadata.ProjectMetadata;
 import org.elasticsearch.cluster.project.ProjectResolver;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.core.Assertions;
 import org.elasticsearch.core.FixForMultiProject;
@@ -46,7 +49,9 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Executor;
@@ -60,6 +65,20 @@ import java.util.function.LongSupplier;
 public abstract class TransportAbstractBulkAction extends HandledTransportAction<BulkRequest, BulkResponse> {
     private static final Logger logger = LogManager.getLogger(TransportAbstractBulkAction.class);
 
+    /**
+     * Bulk requests with more items than this that need to go through ingest pipelines are split into slices of this many items. All
+     * slices go through their pipelines at once, and each slice is indexed as soon as its own documents are done and the slices before
+     * it are indexed, so that the documents ahead of a slow one are not held back until the slowest document of the whole request is
+     * done. Slices are indexed one after the other, which keeps the order of the writes to a document. {@code 0}, the default, processes
+     * the whole request at once.
+     */
+    public static final Setting<Integer> INGEST_SLICE_SIZE = Setting.intSetting(
+        "ingest.bulk.slice_size",
+        0,
+        0,
+        Setting.Property.NodeScope
+    );
+
     protected final ThreadPool threadPool;
     protected final ClusterService clusterService;
     protected final IndexingPressure indexingPressure;
@@ -71,6 +90,7 @@ public abstract class TransportAbstractBulkAction extends HandledTransportAction
     protected final Executor writeExecutor;
     protected final Executor systemWriteExecutor;
     private final ActionType<BulkResponse> bulkAction;
+    private final int ingestSliceSize;
 
     public TransportAbstractBulkAction(
         ActionType<BulkResponse> action,
@@ -98,6 +118,7 @@ public abstract class TransportAbstractBulkAction extends HandledTransportAction
         clusterService.addStateApplier(this.ingestForwarder);
         this.relativeTimeNanosProvider = relativeTimeNanosProvider;
         this.bulkAction = action;
+        this.ingestSliceSize = INGEST_SLICE_SIZE.get(clusterService.getSettings());
     }
 
     @Override
@@ -276,7 +297,14 @@ public abstract class TransportAbstractBulkAction extends HandledTransportAction
                     assert arePipelinesResolved : bulkRequest;
                 }
                 if (clusterService.localNode().isIngestNode()) {
-                    processBulkIndexIngestRequest(task, bulkRequest, executor, project, l);
+                    if (ingestSliceSize > 0
+                        && bulkRequest.numberOfActions() > ingestSliceSize
+                        && bulkRequest.isSimulated() == false
+                        && BulkRequest.IncrementalState.EMPTY.equals(bulkRequest.incrementalState())) {
+                        processBulkIndexIngestRequestInSlices(task, bulkRequest, executor, project, l);
+                    } else {
+                        processBulkIndexIngestRequest(task, bulkRequest, executor, project, SubscribableListener.nullSuccess(), l);
+                    }
                 } else {
                     ingestForwarder.forwardIngestRequest(bulkAction, bulkRequest, l);
                 }
@@ -286,11 +314,72 @@ public abstract class TransportAbstractBulkAction extends HandledTransportAction
         return false;
     }
 
+    private void processBulkIndexIngestRequestInSlices(
+        Task task,
+        BulkRequest original,
+        Executor executor,
+        ProjectMetadata metadata,
+        ActionListener<BulkResponse> listener
+    ) {
+        final List<DocWriteRequest<?>> requests = original.requests();
+        final BulkResponse[] sliceResponses = new BulkResponse[Math.ceilDiv(requests.size(), ingestSliceSize)];
+        try (var refs = new RefCountingListener(listener.map(ignored -> mergeSliceResponses(sliceResponses)))) {
+            SubscribableListener<Void> previousSliceIndexed = SubscribableListener.nullSuccess();
+            for (int i = 0; i < sliceResponses.length; i++) {
+                final int sliceIndex = i;
+                final int sliceStart = i * ingestSliceSize;
+                final BulkRequest slice = original.shallowClone().includeSourceOnError(original.includeSourceOnError());
+                for (DocWriteRequest<?> request : requests.subList(sliceStart, Math.min(requests.size(), sliceStart + ingestSliceSize))) {
+                    slice.add(request);
+                }
+                final SubscribableListener<Void> readyToIndex = previousSliceIndexed;
+                final SubscribableListener<Void> sliceIndexed = new SubscribableListener<>();
+                processBulkIndexIngestRequest(
+                    task,
+                    slice,
+                    executor,
+                    metadata,
+                    readyToIndex,
+                    // a slice that had nothing left to index after ingest completes early, the next slice must still wait for the
+                    // slices before it
+                    ActionListener.runAfter(
+                        refs.acquire(response -> sliceResponses[sliceIndex] = response),
+                        () -> readyToIndex.addListener(ActionListener.running(() -> sliceIndexed.onResponse(null)))
+                    )
+                );
+                previousSliceIndexed = sliceIndexed;
+            }
+        }
+    }
+
+    private BulkResponse mergeSliceResponses(BulkResponse[] sliceResponses) {
+        final List<BulkItemResponse> items = new ArrayList<>();
+        long tookInMillis = 0;
+        long ingestTookInMillis = BulkResponse.NO_INGEST_TOOK;
+        for (int i = 0; i < sliceResponses.length; i++) {
+            final int sliceStart = i * ingestSliceSize;
+            for (BulkItemResponse item : sliceResponses[i].getItems()) {
+                // the slices are requests of their own, their item ids are relative to the start of the slice
+                final int itemId = sliceStart + item.getItemId();
+                items.add(
+                    item.isFailed()
+                        ? BulkItemResponse.failure(itemId, item.getOpType(), item.getFailure())
+                        : BulkItemResponse.success(itemId, item.getOpType(), item.getResponse())
+                );
+            }
+            // the slices are indexed one after the other, but go through their pipelines at the same time
+            tookInMillis += sliceResponses[i].getTook().millis();
+            ingestTookInMillis = Math.max(ingestTookInMillis, sliceResponses[i].getIngestTookInMillis());
+        }
+        return new BulkResponse(items.toArray(BulkItemResponse[]::new), tookInMillis, ingestTookInMillis);
+    }
+
     private void processBulkIndexIngestRequest(
         Task task,
         BulkRequest original,
         Executor executor,
         ProjectMetadata metadata,
+        SubscribableListener<Void> readyToIndex,
         ActionListener<BulkResponse> listener
     ) {
         final long ingestStartTimeInNanos = relativeTimeNanos();
@@ -335,13 +424,16 @@ public abstract class TransportAbstractBulkAction extends HandledTransportAction
                                 return true;
                             }
                         };
-                        // If a processor went async and returned a response on a different thread then
-                        // before we continue the bulk request we should fork back on a write thread:
-                        if (originalThread == Thread.currentThread()) {
-                            runnable.run();
-                        } else {
-                            executor.execute(runnable);
-                        }
+                        readyToIndex.addListener(ActionListener.running(() -> {
+                            // If a processor went async and returned a response on a different thread, or the previous slice
+                            // completed on a different thread, then before we continue the bulk request we should fork back on a
+                            // write thread:
+                            if (originalThread == Thread.currentThread()) {
+                                runnable.run();
+                            } else {
+                                executor.execute(runnable);
+                            }
+                        }));
                     }
                 }
             },
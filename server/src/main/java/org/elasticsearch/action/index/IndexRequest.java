@@ -165,7 +165,9 @@ public class IndexRequest extends ReplicatedWriteRequest<IndexRequest> implement
         }
         id = in.readOptionalString();
         routing = in.readOptionalString();
-        source = in.readBytesReference();
+        // Shard level requests are only read as part of a BulkShardRequest, which releases their sources once it's done with them. This
+        // saves copying the sources out of the network buffers on primaries and replicas.
+        source = shardId == null ? in.readBytesReference() : in.readReleasableBytesReference();
         opType = OpType.fromId(in.readByte());
         version = in.readLong();
         versionType = VersionType.fromValue(in.readByte());
@@ -38,6 +38,7 @@ import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.search.SearchPhaseResult;
 import org.elasticsearch.search.SearchService;
 import org.elasticsearch.search.SearchShardTarget;
+import org.elasticsearch.search.SearchSortValuesAndFormats;
 import org.elasticsearch.search.builder.PointInTimeBuilder;
 import org.elasticsearch.search.dfs.AggregatedDfs;
 import org.elasticsearch.search.internal.AliasFilter;
@@ -655,25 +656,30 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
                 var pitBuilder = searchRequest.pointInTimeBuilder();
                 var shardToQuery = nodeQueryRequest.shards.get(dataNodeLocalIdx);
                 final var shardId = shardToQuery.shardId;
+                final ShardSearchRequest shardSearchRequest = tryRewriteWithUpdatedSortValue(
+                    state.bottomSortCollector,
+                    state.trackTotalHitsUpTo,
+                    buildShardSearchRequest(
+                        shardId,
+                        nodeQueryRequest.localClusterAlias,
+                        shardToQuery.shardIndex,
+                        shardToQuery.contextId,
+                        new OriginalIndices(shardToQuery.originalIndices, nodeQueryRequest.indicesOptions()),
+                        nodeQueryRequest.aliasFilters.getOrDefault(shardId.getIndex().getUUID(), AliasFilter.EMPTY),
+                        pitBuilder == null ? null : pitBuilder.getKeepAlive(),
+                        shardToQuery.boost,
+                        searchRequest,
+                        nodeQueryRequest.totalShards,
+                        nodeQueryRequest.absoluteStartMillis,
+                        state.hasResponse.getAcquire()
+                    )
+                );
+                if (searchRequest.scroll() == null) {
+                    // let the query keep up with the results of the shards that complete on this node while it runs
+                    shardSearchRequest.setBottomSortValuesSupplier(state::getBottomSortValues);
+                }
                 state.dependencies.searchService.executeQueryPhase(
-                    tryRewriteWithUpdatedSortValue(
-                        state.bottomSortCollector,
-                        state.trackTotalHitsUpTo,
-                        buildShardSearchRequest(
-                            shardId,
-                            nodeQueryRequest.localClusterAlias,
-                            shardToQuery.shardIndex,
-                            shardToQuery.contextId,
-                            new OriginalIndices(shardToQuery.originalIndices, nodeQueryRequest.indicesOptions()),
-                            nodeQueryRequest.aliasFilters.getOrDefault(shardId.getIndex().getUUID(), AliasFilter.EMPTY),
-                            pitBuilder == null ? null : pitBuilder.getKeepAlive(),
-                            shardToQuery.boost,
-                            searchRequest,
-                            nodeQueryRequest.totalShards,
-                            nodeQueryRequest.absoluteStartMillis,
-                            state.hasResponse.getAcquire()
-                        )
-                    ),
+                    shardSearchRequest,
                     state.task,
                     new SearchActionListener<>(
                         new SearchShardTarget(null, shardToQuery.shardId, nodeQueryRequest.localClusterAlias),
@@ -842,6 +848,14 @@ public class SearchQueryThenFetchAsyncAction extends AbstractSearchAsyncAction<S
             channelListener.onFailure(e);
         }
 
+        /**
+         * @return the best bottom sort values of the shards that completed on this node so far, or {@code null} if there are none yet
+         */
+        SearchSortValuesAndFormats getBottomSortValues() {
+            final var bottomSortCollector = this.bottomSortCollector;
+            return bottomSortCollector == null ? null : bottomSortCollector.getBottomSortValues();
+        }
+
         void consumeResult(QuerySearchResult queryResult) {
             // no need for any cache effects when we're already flipped to ture => plain read + set-release
             hasResponse.compareAndExchangeRelease(false, true);
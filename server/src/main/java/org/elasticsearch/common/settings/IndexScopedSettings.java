@@ -135,6 +135,7 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
                 IndexSettings.WEIGHT_MATCHES_MODE_ENABLED_SETTING,
                 IndexSettings.MAX_TERMS_COUNT_SETTING,
                 IndexSettings.INDEX_TRANSLOG_SYNC_INTERVAL_SETTING,
+                IndexSettings.INDEX_TRANSLOG_SYNC_DELAY_SETTING,
                 IndexSettings.DEFAULT_FIELD_SETTING,
                 IndexSettings.QUERY_STRING_LENIENT_SETTING,
                 IndexSettings.ALLOW_UNMAPPED,
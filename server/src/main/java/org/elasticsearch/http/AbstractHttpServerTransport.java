@@ -93,6 +93,7 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
     private volatile BoundTransportAddress boundAddress;
     private final AtomicLong totalChannelsAccepted = new AtomicLong();
     private final Map<HttpChannel, RequestTrackingHttpChannel> httpChannels = new ConcurrentHashMap<>();
+    private final Map<HttpChannel, RequestTrackingHttpStream> httpStreams = new ConcurrentHashMap<>();
     private final PlainActionFuture<Void> allClientsClosedListener = new PlainActionFuture<>();
     private final RefCounted refCounted = AbstractRefCounted.of(() -> allClientsClosedListener.onResponse(null));
     private final Set<HttpServerChannel> httpServerChannels = ConcurrentCollections.newConcurrentSet();
@@ -433,6 +434,31 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
         logger.trace(() -> format("Http channel accepted: %s", httpChannel));
     }
 
+    /**
+     * Registers a stream multiplexed over a connection that was previously passed to {@link #serverAcceptedChannel(HttpChannel)}, such
+     * as an HTTP/2 stream. Streams are not counted as client connections: requests received on a stream are tracked against its
+     * connection, so that shutting down waits for them and then closes the connection as a whole.
+     *
+     * @param connection the accepted connection that carries the stream
+     * @param stream the stream on which requests will be received
+     */
+    protected void serverAcceptedStream(HttpChannel connection, HttpChannel stream) {
+        final RequestTrackingHttpChannel trackingConnection = httpChannels.get(connection);
+        if (trackingConnection == null) {
+            // the connection's close listener already ran, so the stream is about to be closed too
+            logger.trace(() -> format("Http stream [%s] opened on closed connection [%s]", stream, connection));
+            CloseableChannel.closeChannel(stream);
+            return;
+        }
+        final RequestTrackingHttpStream trackingStream = httpStreams.putIfAbsent(
+            stream,
+            new RequestTrackingHttpStream(stream, trackingConnection)
+        );
+        assert trackingStream == null : "Stream should only be added to http stream set once";
+        stream.addCloseListener(ActionListener.running(() -> httpStreams.remove(stream)));
+        logger.trace(() -> format("Http stream accepted: %s on %s", stream, connection));
+    }
+
     /**
      * This method handles an incoming http request.
      *
@@ -440,6 +466,11 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
      * @param httpChannel that received the http request
      */
     public void incomingRequest(final HttpRequest httpRequest, final HttpChannel httpChannel) {
+        final RequestTrackingHttpStream trackingStream = httpStreams.get(httpChannel);
+        if (trackingStream != null) {
+            incomingStreamRequest(httpRequest, trackingStream);
+            return;
+        }
         httpClientStatsTracker.updateClientStats(httpRequest, httpChannel);
         final RequestTrackingHttpChannel trackingChannel = httpChannels.get(httpChannel);
         final long startTime = threadPool.rawRelativeTimeInMillis();
@@ -477,6 +508,44 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
         }
     }
 
+    private void incomingStreamRequest(final HttpRequest httpRequest, final RequestTrackingHttpStream trackingStream) {
+        httpClientStatsTracker.updateClientStats(httpRequest, trackingStream.connection.inner);
+        final long startTime = threadPool.rawRelativeTimeInMillis();
+        try {
+            // The connection may already have released its last reference if it was idle when the node started shutting down, in which
+            // case it is closing and the client will retry the request on a new connection
+            if (trackingStream.incomingRequest() == false) {
+                httpRequest.release();
+                logger.debug(
+                    "http connection [{}] closing before starting to handle [{}][{}][{}] on stream [{}]",
+                    trackingStream.connection,
+                    httpRequest.header(Task.X_OPAQUE_ID_HTTP_HEADER),
+                    httpRequest.method(),
+                    httpRequest.uri(),
+                    trackingStream
+                );
+                trackingStream.close();
+                return;
+            }
+            handleIncomingRequest(httpRequest, trackingStream, httpRequest.getInboundException());
+        } finally {
+            final long took = threadPool.rawRelativeTimeInMillis() - startTime;
+            networkService.getHandlingTimeTracker().addObservation(took);
+            final long logThreshold = slowLogThresholdMs;
+            if (logThreshold > 0 && took > logThreshold) {
+                logger.warn(
+                    "handling request [{}][{}][{}][{}] took [{}ms] which is above the warn threshold of [{}ms]",
+                    httpRequest.header(Task.X_OPAQUE_ID_HTTP_HEADER),
+                    httpRequest.method(),
+                    httpRequest.uri(),
+                    trackingStream,
+                    took,
+                    logThreshold
+                );
+            }
+        }
+    }
+
     // Visible for testing
     void dispatchRequest(final RestRequest restRequest, final RestChannel channel, final Throwable badRequestCause) {
         final ThreadContext threadContext = threadPool.getThreadContext();
@@ -708,4 +777,65 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
             return inner.toString();
         }
     }
+
+    /**
+     * A {@link HttpChannel} for a stream multiplexed over a {@link RequestTrackingHttpChannel}, which counts the in-flight requests of the
+     * stream against the connection so that the connection only closes when idle once every stream is done.
+     */
+    private static class RequestTrackingHttpStream implements HttpChannel {
+
+        final HttpChannel inner;
+        final RequestTrackingHttpChannel connection;
+
+        RequestTrackingHttpStream(HttpChannel inner, RequestTrackingHttpChannel connection) {
+            this.inner = inner;
+            this.connection = connection;
+        }
+
+        boolean incomingRequest() {
+            return connection.refCounted.tryIncRef();
+        }
+
+        @Override
+        public void close() {
+            inner.close();
+        }
+
+        @Override
+        public void addCloseListener(ActionListener<Void> listener) {
+            inner.addCloseListener(listener);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return inner.isOpen();
+        }
+
+        @Override
+        public void sendResponse(HttpResponse response, ActionListener<Void> listener) {
+            // no Connection header even when shutting down: it is not valid on a multiplexed stream, and the client learns that the
+            // connection is going away from the GOAWAY sent when it closes
+            inner.sendResponse(
+                response,
+                listener != null
+                    ? ActionListener.runAfter(listener, connection.refCounted::decRef)
+                    : ActionListener.running(connection.refCounted::decRef)
+            );
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return inner.getLocalAddress();
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return inner.getRemoteAddress();
+        }
+
+        @Override
+        public String toString() {
+            return inner.toString();
+        }
+    }
 }
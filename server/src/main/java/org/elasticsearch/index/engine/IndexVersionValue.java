@@ -16,18 +16,42 @@ import java.util.Objects;
 
 final class IndexVersionValue extends VersionValue {
 
+    /**
+     * The whole footprint of an instance, including its translog location which is stored inline.
+     */
     private static final long RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(IndexVersionValue.class);
 
-    private final Translog.Location translogLocation;
+    /**
+     * Value of {@link #translogGeneration} when we don't track the translog location.
+     */
+    private static final long NO_LOCATION = -1;
+
+    /*
+     * We keep the translog location flattened rather than pointing to a Translog.Location. There is one
+     * of these for every document updated since the last refresh so saving an object per entry shrinks
+     * the version map's heap usage and the garbage it leaves behind for update heavy workloads.
+     */
+    private final long translogGeneration;
+    private final long translogLocation;
+    private final int translogSize;
 
     IndexVersionValue(Translog.Location translogLocation, long version, long seqNo, long term) {
         super(version, seqNo, term);
-        this.translogLocation = translogLocation;
+        if (translogLocation == null) {
+            this.translogGeneration = NO_LOCATION;
+            this.translogLocation = 0;
+            this.translogSize = 0;
+        } else {
+            assert translogLocation.generation() != NO_LOCATION : translogLocation;
+            this.translogGeneration = translogLocation.generation();
+            this.translogLocation = translogLocation.translogLocation();
+            this.translogSize = translogLocation.size();
+        }
     }
 
     @Override
     public long ramBytesUsed() {
-        return RAM_BYTES_USED + RamUsageEstimator.shallowSizeOf(translogLocation);
+        return RAM_BYTES_USED;
     }
 
     @Override
@@ -36,21 +60,23 @@ final class IndexVersionValue extends VersionValue {
         if (o == null || getClass() != o.getClass()) return false;
         if (super.equals(o) == false) return false;
         IndexVersionValue that = (IndexVersionValue) o;
-        return Objects.equals(translogLocation, that.translogLocation);
+        return translogGeneration == that.translogGeneration
+            && translogLocation == that.translogLocation
+            && translogSize == that.translogSize;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), translogLocation);
+        return Objects.hash(super.hashCode(), translogGeneration, translogLocation, translogSize);
     }
 
     @Override
     public String toString() {
-        return "IndexVersionValue{version=" + version + ", seqNo=" + seqNo + ", term=" + term + ", location=" + translogLocation + '}';
+        return "IndexVersionValue{version=" + version + ", seqNo=" + seqNo + ", term=" + term + ", location=" + getLocation() + '}';
     }
 
     @Override
     public Translog.Location getLocation() {
-        return translogLocation;
+        return translogGeneration == NO_LOCATION ? null : new Translog.Location(translogGeneration, translogLocation, translogSize);
     }
 }
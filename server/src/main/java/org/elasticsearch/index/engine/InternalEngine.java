@@ -63,6 +63,7 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.AsyncIOProcessor;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.KeyedLock;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.Assertions;
@@ -72,6 +73,7 @@ import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.SuppressForbidden;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.index.IndexMode;
@@ -720,7 +722,30 @@ public class InternalEngine extends Engine {
 
     @Override
     public void asyncEnsureTranslogSynced(Translog.Location location, Consumer<Exception> listener) {
-        translogSyncProcessor.put(new Tuple<>(SequenceNumbers.NO_OPS_PERFORMED, location), listener);
+        final TimeValue syncDelay = engineConfig.getIndexSettings().getTranslogSyncDelay();
+        if (syncDelay.nanos() > 0 && location != Translog.Location.EMPTY) {
+            // Group commit: give concurrent requests a moment to write their operations so that the fsync persists them too. When their
+            // own delayed syncs run they find their locations already synced and skip the fsync. We wait on the scheduler rather than on
+            // the calling write thread, and the sync then runs on the generic threadpool.
+            final ThreadPool threadPool = engineConfig.getThreadPool();
+            try {
+                threadPool.schedule(new AbstractRunnable() {
+                    @Override
+                    protected void doRun() {
+                        translogSyncProcessor.put(new Tuple<>(SequenceNumbers.NO_OPS_PERFORMED, location), listener);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        listener.accept(e);
+                    }
+                }, syncDelay, threadPool.generic());
+            } catch (EsRejectedExecutionException e) {
+                listener.accept(e);
+            }
+        } else {
+            translogSyncProcessor.put(new Tuple<>(SequenceNumbers.NO_OPS_PERFORMED, location), listener);
+        }
     }
 
     @Override
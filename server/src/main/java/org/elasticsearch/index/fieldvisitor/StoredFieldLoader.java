@@ -29,11 +29,13 @@ import java.util.Set;
  */
 public abstract class StoredFieldLoader {
 
+    private static final int MAX_AVERAGE_DOC_GAP = 4;
+
     /**
      * Return a {@link LeafStoredFieldLoader} for the given segment and document set
      *
      * The loader will use an internal lucene merge reader if the document set is of
-     * sufficient size and is contiguous.  Callers may pass {@code null} if the set
+     * sufficient size and is dense.  Callers may pass {@code null} if the set
      * is not known up front or if the merge reader optimisation will not apply.
      */
     public abstract LeafStoredFieldLoader getLoader(LeafReaderContext ctx, int[] docs) throws IOException;
@@ -141,7 +143,7 @@ public abstract class StoredFieldLoader {
 
     private static CheckedBiConsumer<Integer, FieldsVisitor, IOException> reader(LeafReaderContext ctx, int[] docs) throws IOException {
         LeafReader leafReader = ctx.reader();
-        if (docs != null && docs.length > 10 && hasSequentialDocs(docs)) {
+        if (docs != null && docs.length > 10 && hasDenseDocs(docs)) {
             return sequentialReader(ctx);
         }
         StoredFields storedFields = leafReader.storedFields();
@@ -167,8 +169,13 @@ public abstract class StoredFieldLoader {
         return fieldsToLoad.stream().sorted().toList();
     }
 
-    private static boolean hasSequentialDocs(int[] docs) {
-        return docs.length > 0 && docs[docs.length - 1] - docs[0] == docs.length - 1;
+    /**
+     * The merge reader keeps the last decompressed block of stored fields around, so it pays off as soon as several of the (sorted)
+     * docs share a block, not only when they are contiguous. We consider the docs dense enough when they are on average at most
+     * {@link #MAX_AVERAGE_DOC_GAP} docs apart.
+     */
+    private static boolean hasDenseDocs(int[] docs) {
+        return docs.length > 0 && (long) docs[docs.length - 1] - docs[0] < (long) docs.length * MAX_AVERAGE_DOC_GAP;
     }
 
     private static class EmptyStoredFieldLoader implements LeafStoredFieldLoader {
@@ -9,6 +9,7 @@
 package org.elasticsearch.index.translog;
 
 import org.elasticsearch.common.io.Channels;
+import org.elasticsearch.common.io.stream.ByteBufferStreamInput;
 import org.elasticsearch.index.seqno.SequenceNumbers;
 
 import java.io.EOFException;
@@ -17,6 +18,12 @@ import java.nio.ByteBuffer;
 
 final class TranslogSnapshot extends BaseTranslogReader {
 
+    /**
+     * How many bytes we read from the channel at a time. Snapshots read operations sequentially so reading ahead
+     * serves most operations without going back to the channel and lets us read them without copying them first.
+     */
+    static final int READ_AHEAD_SIZE = 64 * 1024;
+
     private final int totalOperations;
     private final Checkpoint checkpoint;
     protected final long length;
@@ -26,6 +33,12 @@ final class TranslogSnapshot extends BaseTranslogReader {
     private int skippedOperations;
     private int readOperations;
     private BufferedChecksumStreamInput reuse;
+    /**
+     * Bytes of the file starting at {@link #readAheadPosition}, allocated on first read so that snapshots which are
+     * opened but never read, like most of the generations in a {@link MultiSnapshot}, don't hold a buffer.
+     */
+    private ByteBuffer readAhead;
+    private long readAheadPosition;
 
     /**
      * Create a snapshot of translog file channel.
@@ -63,13 +76,20 @@ final class TranslogSnapshot extends BaseTranslogReader {
             }
             skippedOperations++;
         }
-        reuse = null; // release buffer, it may be large and is no longer needed
+        reuse = null; // release buffers, they may be large and are no longer needed
+        readAhead = null;
         return null;
     }
 
     private Translog.Operation readOperation() throws IOException {
         final int opSize = readSize(reusableBuffer, position);
-        reuse = checksummedStream(reusableBuffer, position, opSize, reuse);
+        final ByteBuffer buffered = readAhead(position, opSize);
+        if (buffered == null) {
+            reuse = checksummedStream(reusableBuffer, position, opSize, reuse);
+        } else {
+            // read the operation straight out of the read ahead buffer rather than copying it into another buffer first
+            reuse = new BufferedChecksumStreamInput(new ByteBufferStreamInput(buffered), path.toString(), reuse);
+        }
         Translog.Operation op = read(reuse);
         position += opSize;
         readOperations++;
@@ -111,12 +131,44 @@ final class TranslogSnapshot extends BaseTranslogReader {
                         + "]"
                 );
             }
-            Channels.readFromFileChannelWithEofException(channel, position, buffer);
+            final ByteBuffer buffered = readAhead(position, buffer.remaining());
+            if (buffered == null) {
+                Channels.readFromFileChannelWithEofException(channel, position, buffer);
+            } else {
+                buffer.put(buffered);
+            }
         } catch (EOFException e) {
             throw new TranslogCorruptedException(path.toString(), "translog truncated", e);
         }
     }
 
+    /**
+     * Returns a view of the {@code size} bytes at {@code position}, filling the read ahead buffer from the channel
+     * if it doesn't already hold them. Returns {@code null} if the bytes can't be buffered because there are too
+     * many of them or they run past the end of the snapshot. The view is only valid until the next call.
+     */
+    private ByteBuffer readAhead(long position, int size) throws IOException {
+        if (size > READ_AHEAD_SIZE || position + size > length) {
+            return null;
+        }
+        if (readAhead == null) {
+            readAhead = ByteBuffer.allocate(READ_AHEAD_SIZE);
+            readAhead.limit(0);
+        }
+        if (position < readAheadPosition || position + size > readAheadPosition + readAhead.limit()) {
+            readAhead.clear();
+            readAhead.limit(Math.toIntExact(Math.min(READ_AHEAD_SIZE, length - position)));
+            // don't fail if the file is truncated, just buffer what's there and let reading the missing bytes fail
+            Channels.readFromFileChannel(channel, position, readAhead);
+            readAhead.flip();
+            readAheadPosition = position;
+            if (size > readAhead.limit()) {
+                return null;
+            }
+        }
+        return readAhead.slice(Math.toIntExact(position - readAheadPosition), size);
+    }
+
     @Override
     public String toString() {
         return "TranslogSnapshot{"
@@ -18,6 +18,7 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.QueryCache;
 import org.apache.lucene.search.QueryCachingPolicy;
 import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.UsageTrackingQueryCachingPolicy;
 import org.apache.lucene.search.Weight;
 import org.elasticsearch.common.lucene.ShardCoreKeyMap;
 import org.elasticsearch.common.settings.Setting;
@@ -61,8 +62,27 @@ public class IndicesQueryCache implements QueryCache, Closeable {
         false,
         Property.NodeScope
     );
+    // decide what's worth caching based on how often queries are used by all shards on the node rather than by each shard
+    public static final Setting<Boolean> INDICES_QUERIES_CACHE_TRACK_USAGE_ACROSS_SHARDS_SETTING = Setting.boolSetting(
+        "indices.queries.cache.track_usage_across_shards",
+        false,
+        Property.NodeScope
+    );
+
+    /**
+     * How many recent queries we remember when tracking usage across shards. The node sees the uses of all of its shards
+     * so it needs a longer memory than each shard's {@link UsageTrackingQueryCachingPolicy} to notice the same frequencies.
+     */
+    static final int SHARED_USAGE_HISTORY_SIZE = 4096;
 
     private final LRUQueryCache cache;
+    /**
+     * Policy shared by all shards when {@link #INDICES_QUERIES_CACHE_TRACK_USAGE_ACROSS_SHARDS_SETTING} is set. The same
+     * filters are often used against many indices, like a time range or a tenant filter run against daily indices. A shard
+     * might only see such a filter once per search but the node sees it many times, so it becomes worth caching much sooner.
+     */
+    @Nullable
+    private final QueryCachingPolicy sharedCachingPolicy;
     private final ShardCoreKeyMap shardKeyMap = new ShardCoreKeyMap();
     private final Map<ShardId, Stats> shardStats = new ConcurrentHashMap<>();
     private volatile long sharedRamBytesUsed;
@@ -82,6 +102,9 @@ public class IndicesQueryCache implements QueryCache, Closeable {
         } else {
             cache = new ElasticsearchLRUQueryCache(count, size.getBytes());
         }
+        sharedCachingPolicy = INDICES_QUERIES_CACHE_TRACK_USAGE_ACROSS_SHARDS_SETTING.get(settings)
+            ? new UsageTrackingQueryCachingPolicy(SHARED_USAGE_HISTORY_SIZE)
+            : null;
         sharedRamBytesUsed = 0;
     }
 
@@ -144,6 +167,10 @@ public class IndicesQueryCache implements QueryCache, Closeable {
         while (weight instanceof CachingWeightWrapper) {
             weight = ((CachingWeightWrapper) weight).in;
         }
+        if (sharedCachingPolicy != null && policy instanceof UsageTrackingQueryCachingPolicy) {
+            // only replace usage tracking, shards that cache everything or nothing keep doing so
+            policy = sharedCachingPolicy;
+        }
         final Weight in = cache.doCache(weight, policy);
         // We wrap the weight to track the readers it sees and map them with
         // the shards they belong to
@@ -24,6 +24,8 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.iterable.Iterables;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.mapper.MappingLookup;
 
@@ -31,6 +33,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -70,26 +73,72 @@ public final class IndicesRequestCache implements Closeable {
         new TimeValue(0),
         Property.NodeScope
     );
+    /**
+     * Size of a separate cache for shards of indices that have a write block. Their readers never change so their entries
+     * stay valid until evicted and they are worth protecting from the churn of entries for indices that are refreshed.
+     * It is carved out of {@link #INDICES_CACHE_QUERY_SIZE}, the other indices get what is left. {@code 0} means we cache
+     * them together with everything else.
+     */
+    public static final Setting<ByteSizeValue> INDICES_CACHE_QUERY_READ_ONLY_SIZE = Setting.memorySizeSetting(
+        "indices.requests.cache.read_only_size",
+        "0%",
+        Property.NodeScope
+    );
 
     private final ConcurrentMap<CleanupKey, Boolean> registeredClosedListeners = ConcurrentCollections.newConcurrentMap();
     private final Set<CleanupKey> keysToClean = ConcurrentCollections.newConcurrentSet();
     private final Cache<Key, BytesReference> cache;
+    /**
+     * Cache for {@link CacheEntity#isReadOnly() read only} entities, {@code null} if they share {@link #cache}.
+     */
+    @Nullable
+    private final Cache<Key, BytesReference> readOnlyCache;
 
     IndicesRequestCache(Settings settings) {
+        long size = INDICES_CACHE_QUERY_SIZE.get(settings).getBytes();
+        long readOnlySize = INDICES_CACHE_QUERY_READ_ONLY_SIZE.get(settings).getBytes();
+        if (readOnlySize >= size && readOnlySize > 0) {
+            throw new IllegalArgumentException(
+                "["
+                    + INDICES_CACHE_QUERY_READ_ONLY_SIZE.getKey()
+                    + "] must be smaller than ["
+                    + INDICES_CACHE_QUERY_SIZE.getKey()
+                    + "] because it is part of it, got ["
+                    + ByteSizeValue.ofBytes(readOnlySize)
+                    + "] and ["
+                    + ByteSizeValue.ofBytes(size)
+                    + "]"
+            );
+        }
+        cache = buildCache(settings, size - readOnlySize);
+        readOnlyCache = readOnlySize > 0 ? buildCache(settings, readOnlySize) : null;
+    }
+
+    private static Cache<Key, BytesReference> buildCache(Settings settings, long size) {
         TimeValue expire = INDICES_CACHE_QUERY_EXPIRE.exists(settings) ? INDICES_CACHE_QUERY_EXPIRE.get(settings) : null;
         CacheBuilder<Key, BytesReference> cacheBuilder = CacheBuilder.<Key, BytesReference>builder()
-            .setMaximumWeight(INDICES_CACHE_QUERY_SIZE.get(settings).getBytes())
+            .setMaximumWeight(size)
             .weigher((k, v) -> k.ramBytesUsed() + v.ramBytesUsed())
             .removalListener(notification -> notification.getKey().entity.onRemoval(notification));
         if (expire != null) {
             cacheBuilder.setExpireAfterAccess(expire);
         }
-        cache = cacheBuilder.build();
+        return cacheBuilder.build();
+    }
+
+    private Cache<Key, BytesReference> cacheFor(CacheEntity entity) {
+        return readOnlyCache != null && entity.isReadOnly() ? readOnlyCache : cache;
+    }
+
+    private List<Cache<Key, BytesReference>> caches() {
+        return readOnlyCache == null ? List.of(cache) : List.of(cache, readOnlyCache);
     }
 
     @Override
     public void close() {
-        cache.invalidateAll();
+        for (Cache<Key, BytesReference> c : caches()) {
+            c.invalidateAll();
+        }
     }
 
     void clear(CacheEntity entity) {
@@ -108,7 +157,7 @@ public final class IndicesRequestCache implements Closeable {
         assert cacheHelper != null;
         final Key key = new Key(cacheEntity, mappingCacheKey, cacheHelper.getKey(), cacheKey);
         Loader cacheLoader = new Loader(cacheEntity, loader);
-        BytesReference value = cache.computeIfAbsent(key, cacheLoader);
+        BytesReference value = cacheFor(cacheEntity).computeIfAbsent(key, cacheLoader);
         if (cacheLoader.isLoaded()) {
             key.entity.onMiss();
             // see if its the first time we see this reader, and make sure to register a cleanup key
@@ -142,7 +191,11 @@ public final class IndicesRequestCache implements Closeable {
      */
     void invalidate(CacheEntity cacheEntity, MappingLookup.CacheKey mappingCacheKey, DirectoryReader reader, BytesReference cacheKey) {
         assert reader.getReaderCacheHelper() != null;
-        cache.invalidate(new Key(cacheEntity, mappingCacheKey, reader.getReaderCacheHelper().getKey(), cacheKey));
+        Key key = new Key(cacheEntity, mappingCacheKey, reader.getReaderCacheHelper().getKey(), cacheKey);
+        // the entity may have become read only or stopped being read only since we cached the entry
+        for (Cache<Key, BytesReference> c : caches()) {
+            c.invalidate(key);
+        }
     }
 
     private static class Loader implements CacheLoader<Key, BytesReference> {
@@ -191,6 +244,13 @@ public final class IndicesRequestCache implements Closeable {
          */
         Object getCacheIdentity();
 
+        /**
+         * Returns {@code true} if the resource behind this entity no longer changes, ie. the index has a write block.
+         */
+        default boolean isReadOnly() {
+            return false;
+        }
+
         /**
          * Called each time this entity has a cache hit.
          */
@@ -312,31 +372,37 @@ public final class IndicesRequestCache implements Closeable {
                 currentKeysToClean.add(cleanupKey);
             }
         }
-        if (currentKeysToClean.isEmpty() == false || currentFullClean.isEmpty() == false) {
-            for (Iterator<Key> iterator = cache.keys().iterator(); iterator.hasNext();) {
-                Key key = iterator.next();
-                if (currentFullClean.contains(key.entity.getCacheIdentity())) {
-                    iterator.remove();
-                } else {
-                    if (currentKeysToClean.contains(new CleanupKey(key.entity, key.readerCacheKey))) {
+        for (Cache<Key, BytesReference> c : caches()) {
+            if (currentKeysToClean.isEmpty() == false || currentFullClean.isEmpty() == false) {
+                for (Iterator<Key> iterator = c.keys().iterator(); iterator.hasNext();) {
+                    Key key = iterator.next();
+                    if (currentFullClean.contains(key.entity.getCacheIdentity())) {
                         iterator.remove();
+                    } else {
+                        if (currentKeysToClean.contains(new CleanupKey(key.entity, key.readerCacheKey))) {
+                            iterator.remove();
+                        }
                     }
                 }
             }
-        }
 
-        cache.refresh();
+            c.refresh();
+        }
     }
 
     /**
      * Returns the current size of the cache
      */
     int count() {
-        return cache.count();
+        int count = 0;
+        for (Cache<Key, BytesReference> c : caches()) {
+            count += c.count();
+        }
+        return count;
     }
 
     Iterable<Key> cachedKeys() {
-        return cache.keys();
+        return Iterables.flatten(caches().stream().map(Cache::keys).toList());
     }
 
     int numRegisteredCloseListeners() { // for testing
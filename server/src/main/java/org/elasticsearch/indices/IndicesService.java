@@ -1750,6 +1750,11 @@ public class IndicesService extends AbstractLifecycleComponent
             return indexShard;
         }
 
+        @Override
+        public boolean isReadOnly() {
+            return indexShard.indexSettings().isWriteBlocked();
+        }
+
         @Override
         public long ramBytesUsed() {
             // No need to take the IndexShard into account since it is shared
@@ -193,14 +193,14 @@ public final class IngestDocument {
     public <T> T getFieldValue(String path, Class<T> clazz, boolean ignoreMissing) {
         final FieldPath fieldPath = FieldPath.of(path);
         Object context = fieldPath.initialContext(this);
-        ResolveResult result = resolve(fieldPath.pathElements, fieldPath.pathElements.length, path, context);
-        if (result.wasSuccessful) {
-            return cast(path, result.resolvedObject, clazz);
-        } else if (ignoreMissing) {
-            return null;
-        } else {
-            throw new IllegalArgumentException(result.errorMessage);
+        Object result = resolve(fieldPath.pathElements, fieldPath.pathElements.length, path, context);
+        if (result instanceof ResolveError error) {
+            if (ignoreMissing) {
+                return null;
+            }
+            throw new IllegalArgumentException(error.message());
         }
+        return cast(path, result, clazz);
     }
 
     /**
@@ -334,14 +334,12 @@ public final class IngestDocument {
      */
     public void removeField(String path, boolean ignoreMissing) {
         final FieldPath fieldPath = FieldPath.of(path);
-        Object context = fieldPath.initialContext(this);
-        ResolveResult result = resolve(fieldPath.pathElements, fieldPath.pathElements.length - 1, path, context);
-        if (result.wasSuccessful) {
-            context = result.resolvedObject;
-        } else if (ignoreMissing) {
-            return; // nothing was found, so there's nothing to remove :shrug:
-        } else {
-            throw new IllegalArgumentException(result.errorMessage);
+        Object context = resolve(fieldPath.pathElements, fieldPath.pathElements.length - 1, path, fieldPath.initialContext(this));
+        if (context instanceof ResolveError error) {
+            if (ignoreMissing) {
+                return; // nothing was found, so there's nothing to remove :shrug:
+            }
+            throw new IllegalArgumentException(error.message());
         }
 
         String leafKey = fieldPath.pathElements[fieldPath.pathElements.length - 1];
@@ -381,18 +379,19 @@ public final class IngestDocument {
     }
 
     /**
-     * Resolves the path elements (up to the limit) within the context. The result of such resolution can either be successful,
-     * or can indicate a failure.
+     * Resolves the path elements (up to the limit) within the context. The result of such resolution can either be the resolved object,
+     * or a {@link ResolveError} indicating a failure. The resolved object is returned as is rather than wrapped, since this is called for
+     * almost every field that a processor reads or removes.
      */
-    private static ResolveResult resolve(final String[] pathElements, final int limit, final String fullPath, Object context) {
+    private static Object resolve(final String[] pathElements, final int limit, final String fullPath, Object context) {
         for (int i = 0; i < limit; i++) {
             String pathElement = pathElements[i];
             if (context == null) {
-                return ResolveResult.error(Errors.cannotResolve(fullPath, pathElement, null));
+                return new ResolveError(Errors.cannotResolve(fullPath, pathElement, null));
             } else if (context instanceof IngestCtxMap map) { // optimization: handle IngestCtxMap separately from Map
                 Object object = map.getOrDefault(pathElement, NOT_FOUND); // getOrDefault is faster than containsKey + get
                 if (object == NOT_FOUND) {
-                    return ResolveResult.error(Errors.notPresent(fullPath, pathElement));
+                    return new ResolveError(Errors.notPresent(fullPath, pathElement));
                 } else {
                     context = object;
                 }
@@ -401,7 +400,7 @@ public final class IngestDocument {
                 Map<String, Object> map = (Map<String, Object>) context;
                 Object object = map.getOrDefault(pathElement, NOT_FOUND); // getOrDefault is faster than containsKey + get
                 if (object == NOT_FOUND) {
-                    return ResolveResult.error(Errors.notPresent(fullPath, pathElement));
+                    return new ResolveError(Errors.notPresent(fullPath, pathElement));
                 } else {
                     context = object;
                 }
@@ -410,18 +409,18 @@ public final class IngestDocument {
                 try {
                     index = Integer.parseInt(pathElement);
                 } catch (NumberFormatException e) {
-                    return ResolveResult.error(Errors.notInteger(fullPath, pathElement));
+                    return new ResolveError(Errors.notInteger(fullPath, pathElement));
                 }
                 if (index < 0 || index >= list.size()) {
-                    return ResolveResult.error(Errors.outOfBounds(fullPath, index, list.size()));
+                    return new ResolveError(Errors.outOfBounds(fullPath, index, list.size()));
                 } else {
                     context = list.get(index);
                 }
             } else {
-                return ResolveResult.error(Errors.cannotResolve(fullPath, pathElement, context));
+                return new ResolveError(Errors.cannotResolve(fullPath, pathElement, context));
             }
         }
-        return ResolveResult.success(context);
+        return context;
     }
 
     /**
@@ -1054,15 +1053,7 @@ public final class IngestDocument {
         }
     }
 
-    private record ResolveResult(boolean wasSuccessful, Object resolvedObject, String errorMessage) {
-        static ResolveResult success(Object resolvedObject) {
-            return new ResolveResult(true, resolvedObject, null);
-        }
-
-        static ResolveResult error(String errorMessage) {
-            return new ResolveResult(false, null, errorMessage);
-        }
-    }
+    private record ResolveError(String message) {}
 
     /**
      * Provides a shallowly read-only, very limited, map-like view of two maps. The only methods that are implemented are
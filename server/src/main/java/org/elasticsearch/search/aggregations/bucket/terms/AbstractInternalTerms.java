@@ -173,7 +173,9 @@ public abstract class AbstractInternalTerms<A extends AbstractInternalTerms<A, B
                 // the key changed so bundle up the last key's worth of buckets
                 sameTermBuckets.trimToSize();
                 sink.accept(new DelayedBucket<>(sameTermBuckets));
-                sameTermBuckets = new ArrayList<>();
+                // keys tend to be returned by the same number of shards, so the list for the next key is usually as large as this one,
+                // sizing it upfront saves growing it one shard at a time when many shards respond
+                sameTermBuckets = new ArrayList<>(Math.min(sameTermBuckets.size(), pq.size()));
             }
             lastBucket = top.current();
             sameTermBuckets.add(top.current());
@@ -148,8 +148,7 @@ public class TermsAggregationBuilder extends ValuesSourceAggregationBuilder<Term
         }
         /*
          * we parallelize only if the cardinality of the field is lower than shard size, this is to minimize precision issues.
-         * When ordered by term, we still take cardinality into account to avoid overhead that concurrency may cause against
-         * high cardinality fields.
+         * When ordered by term merging the slices is exact so we parallelize regardless of the cardinality.
          */
         if (script() == null
             && (executionHint == null || executionHint.equals(TermsAggregatorFactory.ExecutionMode.GLOBAL_ORDINALS.toString()))) {
@@ -168,7 +167,13 @@ public class TermsAggregationBuilder extends ValuesSourceAggregationBuilder<Term
     public static boolean supportsParallelCollection(long cardinality, BucketOrder order, BucketCountThresholds bucketCountThresholds) {
         if (cardinality != -1) {
             if (InternalOrder.isKeyOrder(order)) {
-                return cardinality <= KEY_ORDER_CONCURRENCY_THRESHOLD;
+                /*
+                 * Every term in the top terms by key is also in the top terms of each slice
+                 * that collected it, so merging the slices is exact no matter the cardinality.
+                 * Unless a slice drops a term because it didn't reach the shard_min_doc_count
+                 * on its own. In that case we only go concurrent if we'll keep every term.
+                 */
+                return cardinality <= KEY_ORDER_CONCURRENCY_THRESHOLD || bucketCountThresholds.getShardMinDocCount() <= 1;
             }
             BucketCountThresholds adjusted = TermsAggregatorFactory.adjustBucketCountThresholds(bucketCountThresholds, order);
             // for cardinality equal to shard size, we don't know if there were more terms when merging.
@@ -38,6 +38,7 @@ import org.elasticsearch.search.aggregations.support.ValuesSource;
 import org.elasticsearch.search.aggregations.support.ValuesSourceAggregatorFactory;
 import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 import org.elasticsearch.search.aggregations.support.ValuesSourceRegistry;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
 import org.elasticsearch.xcontent.ParseField;
 
 import java.io.IOException;
@@ -546,6 +547,23 @@ public class TermsAggregatorFactory extends ValuesSourceAggregatorFactory {
                          */
                         remapGlobalOrds = false;
                     }
+                    if (remapGlobalOrds == false
+                        && maxOrd > bucketCountThresholds.getShardSize()
+                        && TermsAggregationBuilder.supportsParallelCollection(maxOrd, order, bucketCountThresholds)
+                        && context.searcher() instanceof ContextIndexSearcher searcher
+                        && searcher.hasExecutor()
+                        && searcher.getSlices().length > 1) {
+                        /*
+                         * When we collect concurrently every slice gets its own
+                         * aggregator. Without remapping each of them would allocate
+                         * a bucket for every global ordinal even though a slice only
+                         * sees some of the terms of a high cardinality field. Searches
+                         * are offloaded to the executor even when they don't support
+                         * concurrency, so we look at the slices to tell whether we
+                         * actually collect concurrently.
+                         */
+                        remapGlobalOrds = true;
+                    }
                 }
                 logger.debug("Using standard global ordinals implementation.  remap is [{}]", remapGlobalOrds);
                 return new GlobalOrdinalsStringTermsAggregator(
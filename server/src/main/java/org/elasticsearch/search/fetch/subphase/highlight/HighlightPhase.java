@@ -63,11 +63,11 @@ public class HighlightPhase implements FetchSubPhase {
             @Override
             public void process(HitContext hitContext) throws IOException {
                 Map<String, HighlightField> highlightFields = new HashMap<>();
-                Map<String, Function<HitContext, FieldHighlightContext>> contextBuilders = fieldContext.builders;
-                for (String field : contextBuilders.keySet()) {
-                    FieldHighlightContext fieldContext = contextBuilders.get(field).apply(hitContext);
-                    Highlighter highlighter = getHighlighter(fieldContext.field, fieldContext.fieldType);
-                    HighlightField highlightField = highlighter.highlight(fieldContext);
+                for (Map.Entry<String, FieldHighlighter> entry : fieldContext.highlighters.entrySet()) {
+                    String field = entry.getKey();
+                    FieldHighlighter fieldHighlighter = entry.getValue();
+                    FieldHighlightContext fieldHighlightContext = fieldHighlighter.contextBuilder.apply(hitContext);
+                    HighlightField highlightField = fieldHighlighter.highlighter.highlight(fieldHighlightContext);
                     if (highlightField != null) {
                         // Note that we make sure to use the original field name in the response. This is because the
                         // original field could be an alias, and highlighter implementations may instead reference the
@@ -92,7 +92,12 @@ public class HighlightPhase implements FetchSubPhase {
         return highlighter;
     }
 
-    private record FieldContext(StoredFieldsSpec storedFieldsSpec, Map<String, Function<HitContext, FieldHighlightContext>> builders) {}
+    private record FieldContext(StoredFieldsSpec storedFieldsSpec, Map<String, FieldHighlighter> highlighters) {}
+
+    /**
+     * The highlighter of a field, resolved once per request rather than once per hit, and how to build its context for a hit.
+     */
+    private record FieldHighlighter(Highlighter highlighter, Function<HitContext, FieldHighlightContext> contextBuilder) {}
 
     private FieldContext contextBuilders(
         FetchContext context,
@@ -100,7 +105,7 @@ public class HighlightPhase implements FetchSubPhase {
         Query query,
         Map<String, Object> sharedCache
     ) {
-        Map<String, Function<HitContext, FieldHighlightContext>> builders = new LinkedHashMap<>();
+        Map<String, FieldHighlighter> highlighters = new LinkedHashMap<>();
         StoredFieldsSpec storedFieldsSpec = StoredFieldsSpec.NO_REQUIREMENTS;
         for (SearchHighlightContext.Field field : highlightContext.fields()) {
             Collection<String> fieldNamesToHighlight = context.getSearchExecutionContext().getMatchingFieldNames(field.field());
@@ -140,21 +145,24 @@ public class HighlightPhase implements FetchSubPhase {
 
                 Query highlightQuery = field.fieldOptions().highlightQuery();
 
-                builders.put(
+                highlighters.put(
                     fieldName,
-                    hc -> new FieldHighlightContext(
-                        fieldType.name(),
-                        field,
-                        fieldType,
-                        context,
-                        hc,
-                        highlightQuery == null ? query : highlightQuery,
-                        sharedCache
+                    new FieldHighlighter(
+                        highlighter,
+                        hc -> new FieldHighlightContext(
+                            fieldType.name(),
+                            field,
+                            fieldType,
+                            context,
+                            hc,
+                            highlightQuery == null ? query : highlightQuery,
+                            sharedCache
+                        )
                     )
                 );
             }
             storedFieldsSpec = storedFieldsSpec.merge(new StoredFieldsSpec(sourceRequired, false, storedFields));
         }
-        return new FieldContext(storedFieldsSpec, builders);
+        return new FieldContext(storedFieldsSpec, highlighters);
     }
 }
@@ -58,6 +58,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static java.util.Collections.emptyMap;
 import static org.elasticsearch.search.internal.SearchContext.TRACK_TOTAL_HITS_DISABLED;
@@ -84,6 +85,8 @@ public class ShardSearchRequest extends AbstractTransportRequest implements Indi
 
     private boolean canReturnNullResponseIfMatchNoDocs;
     private SearchSortValuesAndFormats bottomSortValues;
+    // not serialized, only set when the request executes on the node that tracks the bottom sort values
+    private Supplier<SearchSortValuesAndFormats> bottomSortValuesSupplier;
 
     // these are the only mutable fields, as they are subject to rewriting
     private AliasFilter aliasFilter;
@@ -266,6 +269,7 @@ public class ShardSearchRequest extends AbstractTransportRequest implements Indi
         this.allowPartialSearchResults = clone.allowPartialSearchResults;
         this.canReturnNullResponseIfMatchNoDocs = clone.canReturnNullResponseIfMatchNoDocs;
         this.bottomSortValues = clone.bottomSortValues;
+        this.bottomSortValuesSupplier = clone.bottomSortValuesSupplier;
         this.originalIndices = clone.originalIndices;
         this.readerId = clone.readerId;
         this.keepAlive = clone.keepAlive;
@@ -498,6 +502,20 @@ public class ShardSearchRequest extends AbstractTransportRequest implements Indi
         return bottomSortValues;
     }
 
+    /**
+     * Sets a supplier of the bottom sort values that keep improving while this request executes, as other shards of the same
+     * search complete on the node. The query phase uses it to skip the segments whose documents can no longer compete for the top
+     * hits. This is never serialized, so it is only set on requests that execute on the node that collects the bottom sort values.
+     */
+    public void setBottomSortValuesSupplier(@Nullable Supplier<SearchSortValuesAndFormats> bottomSortValuesSupplier) {
+        this.bottomSortValuesSupplier = bottomSortValuesSupplier;
+    }
+
+    @Nullable
+    public Supplier<SearchSortValuesAndFormats> getBottomSortValuesSupplier() {
+        return bottomSortValuesSupplier;
+    }
+
     /**
      * Returns true if the caller can handle null response {@link QuerySearchResult#nullInstance()}.
      * Defaults to false since the coordinator node needs at least one shard response to build the global
@@ -35,7 +35,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  * documents as follows:
  * - through an optional <code>post_filter</code> that is applied to the top hits collection
  * - through an optional <code>min_score</code> threshold, which is applied to both the top hits as well as aggs.
- * Supports also terminating the collection after a certain number of documents have been collected (<code>terminate_after</code>).
+ * Supports also terminating the collection after a certain number of documents have been collected (<code>terminate_after</code>),
+ * and skipping top docs collection for segments that can't hold competitive hits.
  *
  * When top docs as well as aggs are collected (because both collectors were provided), skipping low scoring hits via
  * {@link Scorable#setMinCompetitiveScore(float)} is not supported for either of the collectors.
@@ -44,6 +45,7 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
     private final Collector aggsCollector;
     private final Collector topDocsCollector;
     private final TerminateAfterChecker terminateAfterChecker;
+    private final NonCompetitiveLeafChecker nonCompetitiveLeafChecker;
     private final Weight postFilterWeight;
     private final Float minScore;
     private final boolean cacheScores;
@@ -55,10 +57,22 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         TerminateAfterChecker terminateAfterChecker,
         Collector aggsCollector,
         Float minScore
+    ) {
+        this(topDocsCollector, postFilterWeight, terminateAfterChecker, NO_OP_NON_COMPETITIVE_LEAF_CHECKER, aggsCollector, minScore);
+    }
+
+    QueryPhaseCollector(
+        Collector topDocsCollector,
+        Weight postFilterWeight,
+        TerminateAfterChecker terminateAfterChecker,
+        NonCompetitiveLeafChecker nonCompetitiveLeafChecker,
+        Collector aggsCollector,
+        Float minScore
     ) {
         this.topDocsCollector = Objects.requireNonNull(topDocsCollector);
         this.postFilterWeight = postFilterWeight;
         this.terminateAfterChecker = terminateAfterChecker;
+        this.nonCompetitiveLeafChecker = Objects.requireNonNull(nonCompetitiveLeafChecker);
         this.aggsCollector = aggsCollector;
         this.minScore = minScore;
         this.cacheScores = aggsCollector != null && topDocsCollector.scoreMode().needsScores() && aggsCollector.scoreMode().needsScores();
@@ -141,6 +155,11 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         if (terminateAfterChecker.isThresholdReached()) {
             earlyTerminate();
         }
+        final boolean skipTopDocs = nonCompetitiveLeafChecker.isNonCompetitive(context);
+        if (skipTopDocs && aggsCollector == null) {
+            // none of the docs of this segment can make it into the top docs, and there is nothing else to collect
+            throw new CollectionTerminatedException();
+        }
         Bits postFilterBits = getPostFilterBits(context);
 
         if (aggsCollector == null) {
@@ -154,10 +173,12 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         }
 
         LeafCollector tdlc = null;
-        try {
-            tdlc = topDocsCollector.getLeafCollector(context);
-        } catch (@SuppressWarnings("unused") CollectionTerminatedException e) {
-            // top docs collector does not need this segment, but the aggs collector does.
+        if (skipTopDocs == false) {
+            try {
+                tdlc = topDocsCollector.getLeafCollector(context);
+            } catch (@SuppressWarnings("unused") CollectionTerminatedException e) {
+                // top docs collector does not need this segment, but the aggs collector does.
+            }
         }
         final LeafCollector topDocsLeafCollector = tdlc;
 
@@ -337,6 +358,17 @@ public final class QueryPhaseCollector implements TwoPhaseCollector {
         return terminateAfter == 0 ? NO_OP_TERMINATE_AFTER_CHECKER : new GlobalTerminateAfterChecker(terminateAfter);
     }
 
+    /**
+     * Tells whether none of the documents of a segment can be competitive for the top docs, so that top docs collection can skip it.
+     * Skipping a segment only ever affects top docs collection: aggs, when provided, still collect all the documents of the segment.
+     */
+    @FunctionalInterface
+    interface NonCompetitiveLeafChecker {
+        boolean isNonCompetitive(LeafReaderContext context) throws IOException;
+    }
+
+    static final NonCompetitiveLeafChecker NO_OP_NON_COMPETITIVE_LEAF_CHECKER = context -> false;
+
     abstract static class TerminateAfterChecker {
         abstract boolean isThresholdReached();
 
@@ -47,18 +47,22 @@ import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
 import org.elasticsearch.common.lucene.search.function.FunctionScoreQuery;
 import org.elasticsearch.common.lucene.search.function.ScriptScoreQuery;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.index.search.ESToParentBlockJoinQuery;
 import org.elasticsearch.lucene.grouping.SinglePassGroupingCollector;
 import org.elasticsearch.lucene.grouping.TopFieldGroups;
 import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchSortValuesAndFormats;
 import org.elasticsearch.search.aggregations.AggregatorCollector;
 import org.elasticsearch.search.collapse.CollapseContext;
 import org.elasticsearch.search.internal.ScrollContext;
 import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.internal.ShardSearchRequest;
 import org.elasticsearch.search.profile.query.CollectorResult;
 import org.elasticsearch.search.profile.query.InternalProfileCollector;
 import org.elasticsearch.search.rescore.RescoreContext;
 import org.elasticsearch.search.rescore.RescorePhase;
+import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortAndFormats;
 
 import java.io.IOException;
@@ -66,6 +70,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.elasticsearch.search.profile.query.CollectorResult.REASON_AGGREGATION;
 import static org.elasticsearch.search.profile.query.CollectorResult.REASON_SEARCH_QUERY_PHASE;
@@ -79,6 +84,7 @@ import static org.elasticsearch.search.profile.query.CollectorResult.REASON_SEAR
 abstract class QueryPhaseCollectorManager implements CollectorManager<Collector, QueryPhaseResult> {
     private final Weight postFilterWeight;
     private final QueryPhaseCollector.TerminateAfterChecker terminateAfterChecker;
+    private final QueryPhaseCollector.NonCompetitiveLeafChecker nonCompetitiveLeafChecker;
     private final CollectorManager<AggregatorCollector, Void> aggsCollectorManager;
     private final Float minScore;
     private final boolean profile;
@@ -89,9 +95,28 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         CollectorManager<AggregatorCollector, Void> aggsCollectorManager,
         Float minScore,
         boolean profile
+    ) {
+        this(
+            postFilterWeight,
+            terminateAfterChecker,
+            QueryPhaseCollector.NO_OP_NON_COMPETITIVE_LEAF_CHECKER,
+            aggsCollectorManager,
+            minScore,
+            profile
+        );
+    }
+
+    QueryPhaseCollectorManager(
+        Weight postFilterWeight,
+        QueryPhaseCollector.TerminateAfterChecker terminateAfterChecker,
+        QueryPhaseCollector.NonCompetitiveLeafChecker nonCompetitiveLeafChecker,
+        CollectorManager<AggregatorCollector, Void> aggsCollectorManager,
+        Float minScore,
+        boolean profile
     ) {
         this.postFilterWeight = postFilterWeight;
         this.terminateAfterChecker = terminateAfterChecker;
+        this.nonCompetitiveLeafChecker = nonCompetitiveLeafChecker;
         this.aggsCollectorManager = aggsCollectorManager;
         this.minScore = minScore;
         this.profile = profile;
@@ -118,7 +143,14 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             );
             if (aggsCollectorManager == null) {
                 return new InternalProfileCollector(
-                    new QueryPhaseCollector(topDocsProfileCollector, postFilterWeight, terminateAfterChecker, null, minScore),
+                    new QueryPhaseCollector(
+                        topDocsProfileCollector,
+                        postFilterWeight,
+                        terminateAfterChecker,
+                        nonCompetitiveLeafChecker,
+                        null,
+                        minScore
+                    ),
                     REASON_SEARCH_QUERY_PHASE,
                     topDocsProfileCollector
                 );
@@ -128,7 +160,14 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
                 REASON_AGGREGATION
             );
             return new InternalProfileCollector(
-                new QueryPhaseCollector(topDocsProfileCollector, postFilterWeight, terminateAfterChecker, aggsProfileCollector, minScore),
+                new QueryPhaseCollector(
+                    topDocsProfileCollector,
+                    postFilterWeight,
+                    terminateAfterChecker,
+                    nonCompetitiveLeafChecker,
+                    aggsProfileCollector,
+                    minScore
+                ),
                 REASON_SEARCH_QUERY_PHASE,
                 topDocsProfileCollector,
                 aggsProfileCollector
@@ -138,6 +177,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             newTopDocsCollector(),
             postFilterWeight,
             terminateAfterChecker,
+            nonCompetitiveLeafChecker,
             aggsCollectorManager == null ? null : aggsCollectorManager.newCollector(),
             minScore
         );
@@ -248,6 +288,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
                 return new WithHits(
                     postFilterWeight,
                     terminateAfterChecker,
+                    nonCompetitiveLeafChecker(searchContext),
                     aggsCollectorManager,
                     searchContext.minimumScore(),
                     searchContext.getProfilers() != null,
@@ -301,6 +342,32 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         );
     }
 
+    /**
+     * Returns a checker that skips top docs collection for the segments whose primary sort values are all worse than the bottom sort
+     * values of the shards of the same search that already completed on this node. The bottom sort values keep improving while the query
+     * runs, so segments that are visited later are more likely to be skipped. Skipping is only enabled when it can't affect the response
+     * other than by dropping hits that can't make it into the global top hits: total hits must not be tracked, nor the max score, and
+     * the result must not be cached since it depends on the other shards.
+     */
+    private static QueryPhaseCollector.NonCompetitiveLeafChecker nonCompetitiveLeafChecker(SearchContext searchContext) {
+        final ShardSearchRequest request = searchContext.request();
+        final Supplier<SearchSortValuesAndFormats> bottomSortValues = request == null ? null : request.getBottomSortValuesSupplier();
+        if (bottomSortValues == null
+            || searchContext.sort() == null
+            || searchContext.trackTotalHitsUpTo() != SearchContext.TRACK_TOTAL_HITS_DISABLED
+            || searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER
+            || searchContext.trackScores()
+            || Boolean.TRUE.equals(request.requestCache())) {
+            return QueryPhaseCollector.NO_OP_NON_COMPETITIVE_LEAF_CHECKER;
+        }
+        final FieldSortBuilder primarySort = FieldSortBuilder.getPrimaryFieldSortOrNull(request.source());
+        if (primarySort == null) {
+            return QueryPhaseCollector.NO_OP_NON_COMPETITIVE_LEAF_CHECKER;
+        }
+        final SearchExecutionContext searchExecutionContext = searchContext.getSearchExecutionContext();
+        return context -> primarySort.isBottomSortDisjoint(searchExecutionContext, context.reader(), bottomSortValues.get());
+    }
+
     /**
      * Collector manager used when size is set to 0, hence there are no hits to collect. Top docs collection in
      * this case takes care of retrieving the total hit count.
@@ -377,6 +444,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         WithHits(
             Weight postFilterWeight,
             QueryPhaseCollector.TerminateAfterChecker terminateAfterChecker,
+            QueryPhaseCollector.NonCompetitiveLeafChecker nonCompetitiveLeafChecker,
             CollectorManager<AggregatorCollector, Void> aggsCollectorManager,
             Float minScore,
             boolean profile,
@@ -389,7 +457,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
             int trackTotalHitsUpTo,
             boolean hasFilterCollector
         ) throws IOException {
-            super(postFilterWeight, terminateAfterChecker, aggsCollectorManager, minScore, profile);
+            super(postFilterWeight, terminateAfterChecker, nonCompetitiveLeafChecker, aggsCollectorManager, minScore, profile);
             this.sortAndFormats = sortAndFormats;
             this.trackMaxScore = trackMaxScore;
 
@@ -493,6 +561,7 @@ abstract class QueryPhaseCollectorManager implements CollectorManager<Collector,
         return new WithHits(
             postFilterWeight,
             terminateAfterChecker,
+            QueryPhaseCollector.NO_OP_NON_COMPETITIVE_LEAF_CHECKER,
             aggsCollectorManager,
             minScore,
             profile,
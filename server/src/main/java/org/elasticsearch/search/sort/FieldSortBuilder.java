@@ -395,6 +395,15 @@ public final class FieldSortBuilder extends SortBuilder<FieldSortBuilder> {
      * primary sort value provided in the <code>bottomSortValues</code>.
      */
     public boolean isBottomSortShardDisjoint(SearchExecutionContext context, SearchSortValuesAndFormats bottomSortValues)
+        throws IOException {
+        return isBottomSortDisjoint(context, context.getIndexReader(), bottomSortValues);
+    }
+
+    /**
+     * Returns whether some values of the given <code>reader</code>, typically a single segment of the shard, are within the
+     * primary sort value provided in the <code>bottomSortValues</code>.
+     */
+    public boolean isBottomSortDisjoint(SearchExecutionContext context, IndexReader reader, SearchSortValuesAndFormats bottomSortValues)
         throws IOException {
         if (bottomSortValues == null || bottomSortValues.getRawSortValues().length == 0) {
             return false;
@@ -423,7 +432,7 @@ public final class FieldSortBuilder extends SortBuilder<FieldSortBuilder> {
         Object maxValue = order() == SortOrder.DESC ? null : bottomSortValue;
         try {
             MappedFieldType.Relation relation = fieldType.isFieldWithinQuery(
-                context.getIndexReader(),
+                reader,
                 minValue,
                 maxValue,
                 true,
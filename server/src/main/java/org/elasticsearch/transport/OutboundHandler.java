@@ -229,7 +229,9 @@ public final class OutboundHandler {
         Releasable onAfter
     ) throws IOException {
         assert action != null;
-        final var compressionScheme = writeable instanceof BytesTransportMessage ? null : possibleCompressionScheme;
+        final var compressionScheme = writeable instanceof BytesTransportMessage
+            ? null
+            : compatibleScheme(possibleCompressionScheme, version);
         final BytesReference message;
         boolean serializeSuccess = false;
         final RecyclerBytesStreamOutput byteStreamOutput = new RecyclerBytesStreamOutput(recycler);
@@ -363,6 +365,16 @@ public final class OutboundHandler {
         return new ReleasableBytesReference(CompositeBytesReference.of(msg, zeroCopyBuffer), (RefCounted) zeroCopyBuffer);
     }
 
+    private static Compression.Scheme compatibleScheme(Compression.Scheme compressionScheme, TransportVersion version) {
+        if (compressionScheme == Compression.Scheme.ZSTD) {
+            // the remote node can't decompress zstd yet, or this node can't compress it because the native library isn't available
+            if (version.before(TransportVersions.TRANSPORT_COMPRESSION_SCHEME_ZSTD) || Compression.Scheme.isZstdAvailable() == false) {
+                return Compression.Scheme.LZ4;
+            }
+        }
+        return compressionScheme;
+    }
+
     // compressed stream wrapped bytes must be no-close wrapped since we need to close the compressed wrapper below to release
     // resources and write EOS marker bytes but must not yet release the bytes themselves
     private static StreamOutput wrapCompressed(Compression.Scheme compressionScheme, RecyclerBytesStreamOutput bytesStream)
@@ -373,6 +385,8 @@ public final class OutboundHandler {
             );
         } else if (compressionScheme == Compression.Scheme.LZ4) {
             return new OutputStreamStreamOutput(Compression.Scheme.lz4OutputStream(Streams.noCloseStream(bytesStream)));
+        } else if (compressionScheme == Compression.Scheme.ZSTD) {
+            return new OutputStreamStreamOutput(Compression.Scheme.zstdOutputStream(Streams.noCloseStream(bytesStream)));
         } else {
             throw new IllegalArgumentException("Invalid compression scheme: " + compressionScheme);
         }
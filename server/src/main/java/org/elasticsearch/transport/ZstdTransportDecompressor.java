@@ -0,0 +1,217 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.nativeaccess.CloseableByteBuffer;
+import org.elasticsearch.nativeaccess.NativeAccess;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Decompresses the blocks written by {@link ZstdTransportOutputStream}.
+ */
+public class ZstdTransportDecompressor extends TransportDecompressor {
+
+    /**
+     * Native buffers for the compressed and decompressed content of a block. Like the buffers of {@link Lz4TransportDecompressor}, they
+     * are cached per thread and grown to the largest block the thread decompressed. A block is decompressed within a single call to
+     * {@link #decompress(BytesReference)}, so these buffers don't need to outlive it. Their memory is freed by the garbage collector.
+     */
+    private static final ThreadLocal<CloseableByteBuffer> COMPRESSED = new ThreadLocal<>();
+    private static final ThreadLocal<CloseableByteBuffer> DECOMPRESSED = new ThreadLocal<>();
+
+    private enum State {
+        INIT_BLOCK,
+        DECOMPRESS_DATA,
+        FINISHED,
+        CORRUPTED
+    }
+
+    private final Zstd zstd;
+    private final int maxCompressedLength;
+
+    private State currentState = State.INIT_BLOCK;
+
+    /**
+     * Compressed length of current incoming block.
+     */
+    private int compressedLength;
+
+    /**
+     * Decompressed length of current incoming block.
+     */
+    private int decompressedLength;
+
+    public ZstdTransportDecompressor(Recycler<BytesRef> recycler) {
+        super(recycler);
+        this.zstd = NativeAccess.instance().getZstd();
+        if (zstd == null) {
+            throw new IllegalStateException("zstd transport compression requires native access");
+        }
+        this.maxCompressedLength = zstd.compressBound(ZstdTransportOutputStream.MAX_BLOCK_SIZE);
+    }
+
+    @Override
+    public Compression.Scheme getScheme() {
+        return Compression.Scheme.ZSTD;
+    }
+
+    @Override
+    public int decompress(BytesReference bytesReference) throws IOException {
+        int bytesConsumed = 0;
+        if (hasSkippedHeader == false) {
+            hasSkippedHeader = true;
+            int esHeaderLength = Compression.Scheme.HEADER_LENGTH;
+            bytesReference = bytesReference.slice(esHeaderLength, bytesReference.length() - esHeaderLength);
+            bytesConsumed += esHeaderLength;
+        }
+
+        while (true) {
+            int consumed = decodeBlock(bytesReference);
+            bytesConsumed += consumed;
+            int newLength = bytesReference.length() - consumed;
+            if (consumed > 0 && newLength > 0) {
+                bytesReference = bytesReference.slice(consumed, newLength);
+            } else {
+                break;
+            }
+        }
+
+        return bytesConsumed;
+    }
+
+    private int decodeBlock(BytesReference reference) {
+        try {
+            switch (currentState) {
+                case INIT_BLOCK:
+                    if (reference.length() < ZstdTransportOutputStream.HEADER_LENGTH) {
+                        return 0;
+                    }
+                    compressedLength = reference.getInt(0);
+                    if (compressedLength < 0 || compressedLength > maxCompressedLength) {
+                        throw new IllegalStateException(
+                            String.format(
+                                Locale.ROOT,
+                                "invalid compressedLength: %d (expected: 0-%d)",
+                                compressedLength,
+                                maxCompressedLength
+                            )
+                        );
+                    }
+                    decompressedLength = reference.getInt(4);
+                    if (decompressedLength < 0 || decompressedLength > ZstdTransportOutputStream.MAX_BLOCK_SIZE) {
+                        throw new IllegalStateException(
+                            String.format(
+                                Locale.ROOT,
+                                "invalid decompressedLength: %d (expected: 0-%d)",
+                                decompressedLength,
+                                ZstdTransportOutputStream.MAX_BLOCK_SIZE
+                            )
+                        );
+                    }
+                    if ((decompressedLength == 0) != (compressedLength == 0)) {
+                        throw new IllegalStateException(
+                            String.format(
+                                Locale.ROOT,
+                                "stream corrupted: compressedLength(%d) and decompressedLength(%d) mismatch",
+                                compressedLength,
+                                decompressedLength
+                            )
+                        );
+                    }
+                    currentState = decompressedLength == 0 ? State.FINISHED : State.DECOMPRESS_DATA;
+                    return ZstdTransportOutputStream.HEADER_LENGTH;
+                case DECOMPRESS_DATA:
+                    if (reference.length() < compressedLength) {
+                        return 0;
+                    }
+                    decompressBlock(reference.slice(0, compressedLength));
+                    currentState = State.INIT_BLOCK;
+                    return compressedLength;
+                case FINISHED:
+                    return 0;
+                case CORRUPTED:
+                    throw new IllegalStateException("zstd stream corrupted.");
+                default:
+                    throw new IllegalStateException();
+            }
+        } catch (IllegalStateException e) {
+            currentState = State.CORRUPTED;
+            throw e;
+        }
+    }
+
+    private void decompressBlock(BytesReference block) {
+        final CloseableByteBuffer src = getThreadLocalBuffer(COMPRESSED, compressedLength);
+        final CloseableByteBuffer dest = getThreadLocalBuffer(DECOMPRESSED, decompressedLength);
+        try {
+            final BytesRefIterator iterator = block.iterator();
+            BytesRef ref;
+            while ((ref = iterator.next()) != null) {
+                src.buffer().put(ref.bytes, ref.offset, ref.length);
+            }
+            src.buffer().flip();
+
+            final int decompressed;
+            try {
+                decompressed = zstd.decompress(dest, src);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException(e);
+            }
+            if (decompressed != decompressedLength) {
+                throw new IllegalStateException(
+                    "stream corrupted: expected " + decompressedLength + " decompressed bytes, got " + decompressed
+                );
+            }
+
+            final ByteBuffer decompressedBuffer = dest.buffer();
+            int uncompressedOffset = 0;
+            while (uncompressedOffset < decompressedLength) {
+                maybeAddNewPage();
+                final Recycler.V<BytesRef> page = pages.getLast();
+                int toCopy = Math.min(decompressedLength - uncompressedOffset, pageLength - pageOffset);
+                decompressedBuffer.get(uncompressedOffset, page.v().bytes, page.v().offset + pageOffset, toCopy);
+                pageOffset += toCopy;
+                uncompressedOffset += toCopy;
+            }
+        } catch (IOException e) {
+            // iterating over the bytes of a BytesReference doesn't do any IO
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns the thread's buffer, grown to at least {@code requiredSize} bytes, with a position of 0 and a limit of {@code requiredSize}.
+     */
+    private static CloseableByteBuffer getThreadLocalBuffer(ThreadLocal<CloseableByteBuffer> threadLocal, int requiredSize) {
+        CloseableByteBuffer buffer = threadLocal.get();
+        if (buffer == null || requiredSize > buffer.buffer().capacity()) {
+            buffer = NativeAccess.instance().newAutoBuffer(requiredSize);
+            threadLocal.set(buffer);
+        }
+        buffer.buffer().clear().limit(requiredSize);
+        return buffer;
+    }
+
+    /**
+     * Returns {@code true} if and only if the end of the compressed stream
+     * has been reached.
+     */
+    public boolean isClosed() {
+        return currentState == State.FINISHED;
+    }
+}
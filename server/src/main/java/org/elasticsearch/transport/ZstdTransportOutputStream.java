@@ -0,0 +1,191 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.elasticsearch.common.util.ByteUtils;
+import org.elasticsearch.nativeaccess.CloseableByteBuffer;
+import org.elasticsearch.nativeaccess.NativeAccess;
+import org.elasticsearch.nativeaccess.Zstd;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} that compresses its content with zstd in independent blocks of at most {@code blockSize} bytes. Each block is
+ * prefixed with its compressed and decompressed lengths and the stream is terminated by an empty block. See
+ * {@link ZstdTransportDecompressor} for the reading side.
+ * <p>
+ * Like {@link ReuseBuffersLZ4BlockOutputStream}, this stream reuses buffers that are cached per thread. They live in native memory that
+ * the garbage collector frees, so that neither compressing a message nor a thread going away needs to free memory explicitly. The
+ * buffers start small and only grow up to the block size as messages need them, so threads that only compress small messages only hold
+ * small buffers.
+ */
+public class ZstdTransportOutputStream extends FilterOutputStream {
+
+    private static class NativeBuffers {
+        private CloseableByteBuffer uncompressed;
+        private CloseableByteBuffer compressed;
+        private boolean owned = false;
+
+        private void markOwnership() {
+            assert owned == false;
+            if (uncompressed == null) {
+                uncompressed = NativeAccess.instance().newAutoBuffer(INITIAL_BUFFER_SIZE);
+            }
+            owned = true;
+        }
+
+        private void release() {
+            owned = false;
+        }
+    }
+
+    private static final ThreadLocal<NativeBuffers> NATIVE_BUFFERS = ThreadLocal.withInitial(NativeBuffers::new);
+
+    static final int HEADER_LENGTH = 4 + // compressed length
+        4;  // decompressed length
+
+    static final int MAX_BLOCK_SIZE = 1 << 20;
+
+    static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    // Buffer for copying compressed bytes from native memory to the underlying stream, it is only used within #flushBufferedData()
+    private static final ThreadLocal<byte[]> COPY_BUFFER = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final Zstd zstd;
+    private final int level;
+    private final int blockSize;
+    private final NativeBuffers buffers;
+    private final byte[] header = new byte[HEADER_LENGTH];
+    private boolean finished;
+
+    /**
+     * @param out       the {@link OutputStream} to feed
+     * @param blockSize the maximum number of bytes to compress at once, must be &gt; 0 and &lt;= 1 M
+     * @param level     the zstd compression level
+     */
+    public ZstdTransportOutputStream(OutputStream out, int blockSize, int level) {
+        super(out);
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("blockSize must be > 0 and <= " + MAX_BLOCK_SIZE + ", got " + blockSize);
+        }
+        this.zstd = NativeAccess.instance().getZstd();
+        if (zstd == null) {
+            throw new IllegalStateException("zstd transport compression requires native access");
+        }
+        this.level = level;
+        this.blockSize = blockSize;
+        final NativeBuffers threadLocalBuffers = NATIVE_BUFFERS.get();
+        // the buffers don't need to be freed, so a stream that is opened while another one is in use on the same thread gets its own
+        this.buffers = threadLocalBuffers.owned ? new NativeBuffers() : threadLocalBuffers;
+        buffers.markOwnership();
+        buffers.uncompressed.buffer().clear().limit(Math.min(blockSize, buffers.uncompressed.buffer().capacity()));
+    }
+
+    private void ensureNotFinished() {
+        if (finished) {
+            throw new IllegalStateException("This stream is already closed");
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureNotFinished();
+        if (buffers.uncompressed.buffer().hasRemaining() == false) {
+            makeRoom();
+        }
+        buffers.uncompressed.buffer().put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureNotFinished();
+        while (len > 0) {
+            if (buffers.uncompressed.buffer().hasRemaining() == false) {
+                makeRoom();
+            }
+            final ByteBuffer buffer = buffers.uncompressed.buffer();
+            final int toCopy = Math.min(len, buffer.remaining());
+            buffer.put(b, off, toCopy);
+            off += toCopy;
+            len -= toCopy;
+        }
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            flushBufferedData();
+            // an empty block marks the end of the stream
+            writeHeader(0, 0);
+            out.close();
+        } finally {
+            finished = true;
+            buffers.release();
+        }
+    }
+
+    /**
+     * Called when the uncompressed buffer is full: grows it if it is smaller than a block, or compresses its content as a block otherwise.
+     */
+    private void makeRoom() throws IOException {
+        final ByteBuffer full = buffers.uncompressed.buffer();
+        if (full.capacity() < blockSize) {
+            final CloseableByteBuffer larger = NativeAccess.instance().newAutoBuffer(Math.min(blockSize, full.capacity() << 1));
+            larger.buffer().put(full.flip());
+            buffers.uncompressed = larger;
+        } else {
+            flushBufferedData();
+        }
+    }
+
+    private void flushBufferedData() throws IOException {
+        final ByteBuffer src = buffers.uncompressed.buffer();
+        final int decompressedLength = src.position();
+        if (decompressedLength == 0) {
+            return;
+        }
+        src.flip();
+        final int maxCompressedLength = zstd.compressBound(decompressedLength);
+        if (buffers.compressed == null || buffers.compressed.buffer().capacity() < maxCompressedLength) {
+            buffers.compressed = NativeAccess.instance().newAutoBuffer(maxCompressedLength);
+        }
+        buffers.compressed.buffer().clear().limit(maxCompressedLength);
+        final int compressedLength = zstd.compress(buffers.compressed, buffers.uncompressed, level);
+        writeHeader(compressedLength, decompressedLength);
+        final ByteBuffer dest = buffers.compressed.buffer();
+        final byte[] copyBuffer = COPY_BUFFER.get();
+        for (int written = 0; written < compressedLength;) {
+            final int numBytes = Math.min(copyBuffer.length, compressedLength - written);
+            dest.get(written, copyBuffer, 0, numBytes);
+            out.write(copyBuffer, 0, numBytes);
+            written += numBytes;
+        }
+        src.clear().limit(Math.min(blockSize, src.capacity()));
+    }
+
+    private void writeHeader(int compressedLength, int decompressedLength) throws IOException {
+        ByteUtils.writeIntBE(compressedLength, header, 0);
+        ByteUtils.writeIntBE(decompressedLength, header, 4);
+        out.write(header);
+    }
+}
@@ -21,6 +21,7 @@ import org.hamcrest.Matchers;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
@@ -148,6 +149,54 @@ public class BulkRequestParserTests extends ESTestCase {
         }, req -> fail(), req -> fail());
     }
 
+    public void testRepeatedActionLines() throws IOException {
+        BytesArray request = new BytesArray("""
+            { "create":{ "_index": "logs", "pipeline": "p1", "dynamic_templates": { "baz": "t1" } } }
+            { "field": 1 }
+            { "create":{ "_index": "logs", "pipeline": "p1", "dynamic_templates": { "baz": "t1" } } }
+            { "field": 2 }
+            { "index":{ "_index": "logs" } }
+            { "field": 3 }
+            { "create":{ "_index": "logs", "pipeline": "p1", "dynamic_templates": { "baz": "t1" } } }
+            { "field": 4 }
+            """);
+        BulkRequestParser parser = new BulkRequestParser(randomBoolean(), true, RestApiVersion.current());
+        final List<IndexRequest> indexRequests = new ArrayList<>();
+        parser.parse(
+            request,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            true,
+            XContentType.JSON,
+            (indexRequest, type) -> indexRequests.add(indexRequest),
+            req -> fail(),
+            req -> fail()
+        );
+        assertThat(indexRequests, Matchers.hasSize(4));
+        for (int i = 0; i < indexRequests.size(); i++) {
+            IndexRequest indexRequest = indexRequests.get(i);
+            assertEquals("logs", indexRequest.index());
+            assertEquals("{ \"field\": " + (i + 1) + " }", indexRequest.source().utf8ToString());
+            if (i == 2) {
+                assertEquals(DocWriteRequest.OpType.INDEX, indexRequest.opType());
+                assertNull(indexRequest.getPipeline());
+                assertEquals(Map.of(), indexRequest.getDynamicTemplates());
+            } else {
+                assertEquals(DocWriteRequest.OpType.CREATE, indexRequest.opType());
+                assertEquals("p1", indexRequest.getPipeline());
+                assertEquals(Map.of("baz", "t1"), indexRequest.getDynamicTemplates());
+            }
+        }
+        // every document gets its own request, even if they were created from the same action line
+        assertNotSame(indexRequests.get(0), indexRequests.get(1));
+        assertNotSame(indexRequests.get(1), indexRequests.get(3));
+    }
+
     public void testDeleteRequest() throws IOException {
         BytesArray request = new BytesArray("""
             { "delete":{ "_id": "bar" } }
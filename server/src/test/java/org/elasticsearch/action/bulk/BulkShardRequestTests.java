@@ -14,10 +14,15 @@ import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.lucene.tests.util.TestUtil.randomSimpleString;
 import static org.hamcrest.Matchers.equalTo;
@@ -60,6 +65,32 @@ public class BulkShardRequestTests extends ESTestCase {
         assertThat(bulkShardRequest.getRefreshPolicy(), equalTo(copy.getRefreshPolicy()));
     }
 
+    public void testSourcesReferenceTheBufferTheRequestWasReadFrom() throws IOException {
+        ShardId shardId = new ShardId("index", "_na_", 0);
+        BulkItemRequest[] items = new BulkItemRequest[between(1, 10)];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new BulkItemRequest(i, new IndexRequest("index").id("id_" + i).source(Map.of("field", "value_" + i)));
+        }
+        BulkShardRequest request = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            request.writeTo(out);
+            AtomicBoolean released = new AtomicBoolean();
+            ReleasableBytesReference bytes = new ReleasableBytesReference(out.bytes(), () -> released.set(true));
+            BulkShardRequest copy;
+            try (StreamInput in = bytes.streamInput()) {
+                copy = new BulkShardRequest(in);
+            }
+            bytes.decRef();
+            assertFalse(released.get());
+            for (int i = 0; i < items.length; i++) {
+                assertEquals(((IndexRequest) items[i].request()).source(), ((IndexRequest) copy.items()[i].request()).source());
+            }
+            assertTrue(copy.decRef());
+            assertTrue(released.get());
+            assertFalse(copy.hasReferences());
+        }
+    }
+
     protected BulkShardRequest randomBulkShardRequest() {
         String indexName = randomAlphaOfLength(100);
         ShardId shardId = new ShardId(indexName, randomAlphaOfLength(50), randomInt());
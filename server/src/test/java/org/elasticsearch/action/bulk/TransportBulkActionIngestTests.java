@@ -50,6 +50,7 @@ import org.elasticsearch.features.NodeFeature;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.IndexingPressure;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.EmptySystemIndices;
 import org.elasticsearch.indices.TestIndexNameExpressionResolver;
 import org.elasticsearch.ingest.IngestService;
@@ -63,6 +64,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -76,10 +78,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -89,6 +95,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -150,6 +157,9 @@ public class TransportBulkActionIngestTests extends ESTestCase {
     class TestTransportBulkAction extends TransportBulkAction {
         boolean isExecuted = false; // set when the "real" bulk execution happens
 
+        final List<BulkRequest> executedBulkRequests = new ArrayList<>();
+        final List<ActionListener<BulkResponse>> executedBulkListeners = new ArrayList<>();
+
         boolean needToCheck; // pluggable return value for `needToCheck`
 
         boolean indexCreated = true; // If set to false, will be set to true by call to createIndex
@@ -188,6 +198,8 @@ public class TransportBulkActionIngestTests extends ESTestCase {
         ) {
             assertTrue(indexCreated);
             isExecuted = true;
+            executedBulkRequests.add(bulkRequest);
+            executedBulkListeners.add(listener);
         }
 
         @Override
@@ -443,6 +455,81 @@ public class TransportBulkActionIngestTests extends ESTestCase {
         verifyNoMoreInteractions(transportService);
     }
 
+    public void testIngestLocalInSlices() throws Exception {
+        when(clusterService.getSettings()).thenReturn(
+            Settings.builder().put(TransportAbstractBulkAction.INGEST_SLICE_SIZE.getKey(), 2).build()
+        );
+        action = new TestTransportBulkAction();
+
+        BulkRequest bulkRequest = new BulkRequest();
+        List<IndexRequest> indexRequests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            IndexRequest indexRequest = new IndexRequest("index").id("id" + i);
+            indexRequest.source(Collections.emptyMap());
+            indexRequest.setPipeline("testpipeline");
+            indexRequests.add(indexRequest);
+            bulkRequest.add(indexRequest);
+        }
+        AtomicReference<BulkResponse> responseReference = new AtomicReference<>();
+        ActionTestUtils.execute(action, null, bulkRequest, ActionTestUtils.assertNoFailureListener(responseReference::set));
+
+        // all slices go through ingest at once
+        verify(ingestService, times(3)).executeBulkRequest(
+            eq(projectId),
+            anyInt(),
+            any(),
+            any(),
+            any(),
+            any(),
+            failureHandler.capture(),
+            completionHandler.capture(),
+            same(writeExecutor)
+        );
+        List<TriConsumer<Integer, Exception, IndexDocFailureStoreStatus>> failureHandlers = failureHandler.getAllValues();
+        List<BiConsumer<Thread, Exception>> completionHandlers = completionHandler.getAllValues();
+        // this is done by the real pipeline execution service when processing
+        indexRequests.forEach(indexRequest -> indexRequest.setPipeline(IngestService.NOOP_PIPELINE_NAME));
+
+        // the second slice is through ingest first, but it is only indexed after the first slice
+        completionHandlers.get(1).accept(DUMMY_WRITE_THREAD, null);
+        assertThat(action.executedBulkRequests, empty());
+        completionHandlers.get(0).accept(DUMMY_WRITE_THREAD, null);
+        assertThat(action.executedBulkRequests, hasSize(1));
+        assertThat(action.executedBulkRequests.get(0).requests(), equalTo(indexRequests.subList(0, 2)));
+
+        // nothing is left to index in the last slice, but it still completes after the slices before it
+        failureHandlers.get(2).apply(0, new Exception("fake exception"), IndexDocFailureStoreStatus.NOT_APPLICABLE_OR_UNKNOWN);
+        completionHandlers.get(2).accept(DUMMY_WRITE_THREAD, null);
+        assertThat(action.executedBulkRequests, hasSize(1));
+
+        action.executedBulkListeners.get(0).onResponse(indexedResponse(action.executedBulkRequests.get(0)));
+        assertThat(action.executedBulkRequests, hasSize(2));
+        assertThat(action.executedBulkRequests.get(1).requests(), equalTo(indexRequests.subList(2, 4)));
+        assertNull(responseReference.get());
+
+        action.executedBulkListeners.get(1).onResponse(indexedResponse(action.executedBulkRequests.get(1)));
+        BulkResponse response = responseReference.get();
+        assertNotNull(response);
+        assertThat(response.getItems().length, equalTo(5));
+        for (int i = 0; i < 4; i++) {
+            assertThat(response.getItems()[i].getItemId(), equalTo(i));
+            assertFalse(response.getItems()[i].isFailed());
+            assertThat(response.getItems()[i].getId(), equalTo("id" + i));
+        }
+        assertThat(response.getItems()[4].getItemId(), equalTo(4));
+        assertThat(response.getItems()[4].getFailure().getMessage(), containsString("fake exception"));
+    }
+
+    private static BulkResponse indexedResponse(BulkRequest bulkRequest) {
+        BulkItemResponse[] items = new BulkItemResponse[bulkRequest.requests().size()];
+        for (int i = 0; i < items.length; i++) {
+            String id = bulkRequest.requests().get(i).id();
+            IndexResponse indexResponse = new IndexResponse(new ShardId("index", "_na_", 0), id, 1, 1, 1, true);
+            items[i] = BulkItemResponse.success(i, DocWriteRequest.OpType.INDEX, indexResponse);
+        }
+        return new BulkResponse(items, 0);
+    }
+
     public void testSingleItemBulkActionIngestLocal() throws Exception {
         Exception exception = new Exception("fake exception");
         IndexRequest indexRequest = new IndexRequest("index").id("id");
@@ -40,6 +40,9 @@ import org.elasticsearch.cluster.routing.ShardRoutingState;
 import org.elasticsearch.cluster.routing.TestShardRouting;
 import org.elasticsearch.cluster.routing.allocation.AllocationService;
 import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -47,7 +50,9 @@ import org.elasticsearch.common.network.NetworkService;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.PageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.RefCounted;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Strings;
 import org.elasticsearch.core.TimeValue;
@@ -71,6 +76,7 @@ import org.elasticsearch.test.transport.CapturingTransport;
 import org.elasticsearch.test.transport.MockTransportService;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.RequestHandlerRegistry;
 import org.elasticsearch.transport.TestTransportChannel;
 import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportChannel;
@@ -88,6 +94,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -1372,6 +1380,198 @@ public class TransportReplicationActionTests extends ESTestCase {
         transportService.stop();
     }
 
+    public void testReroutePhaseReleasesRequestOnce() throws Exception {
+        final String index = "test";
+        final ShardId shardId = new ShardId(index, "_na_", 0);
+        // no replicas in order to skip the replication part, the request is sent to the primary action even though it is local
+        setState(clusterService, state(index, true, ShardRoutingState.STARTED));
+        final RefCountedRequest request = new RefCountedRequest(shardId);
+        final PlainActionFuture<TransportResponse> listener = new PlainActionFuture<>();
+        receiveRequest("internal:testAction", request, createTransportChannel(listener));
+
+        CapturingTransport.CapturedRequest[] capturedRequests = transport.getCapturedRequestsAndClear();
+        assertThat(capturedRequests, arrayWithSize(1));
+        assertThat(capturedRequests[0].action(), equalTo("internal:testAction[p]"));
+        assertTrue("request must be retained while it is sent to the primary", request.hasReferences());
+
+        if (randomBoolean()) {
+            // the primary asks us to retry, which we do on the next cluster state update
+            transport.handleRemoteError(capturedRequests[0].requestId(), randomRetryPrimaryException(shardId));
+            assertFalse(listener.isDone());
+            assertTrue("request must be retained while waiting for a retry", request.hasReferences());
+            setState(clusterService, clusterService.state());
+            capturedRequests = transport.getCapturedRequestsAndClear();
+            assertThat(capturedRequests, arrayWithSize(1));
+            assertTrue(request.isRetrySet.get());
+        }
+
+        final boolean fail = randomBoolean();
+        if (fail) {
+            transport.handleRemoteError(capturedRequests[0].requestId(), new ElasticsearchException("simulated"));
+        } else {
+            transport.handleResponse(capturedRequests[0].requestId(), new TestResponse());
+        }
+        assertTrue(listener.isDone());
+        if (fail) {
+            assertListenerThrows("primary failure must fail the request", listener, ElasticsearchException.class);
+        } else {
+            listener.get();
+        }
+        assertReleasedOnce(request);
+    }
+
+    public void testPrimaryActionReleasesRequestOnce() throws Exception {
+        final String index = "test";
+        final ShardId shardId = new ShardId(index, "_na_", 0);
+        // no replicas in order to skip the replication part
+        setState(clusterService, state(index, true, ShardRoutingState.STARTED));
+        final ShardRouting primary = clusterService.state().routingTable().shardRoutingTable(shardId).primaryShard();
+        final long primaryTerm = clusterService.state().metadata().getProject().index(index).primaryTerm(shardId.id());
+        final boolean fail = randomBoolean();
+        isPrimaryMode.set(fail == false);
+        final RefCountedRequest request = new RefCountedRequest(shardId);
+        final PlainActionFuture<TransportResponse> listener = new PlainActionFuture<>();
+        receiveRequest(
+            "internal:testAction[p]",
+            new TransportReplicationAction.ConcreteShardRequest<>(request, primary.allocationId().getId(), primaryTerm),
+            createTransportChannel(listener)
+        );
+
+        assertTrue(listener.isDone());
+        if (fail) {
+            assertListenerThrows("shard not in primary mode must fail", listener, ReplicationOperation.RetryOnPrimaryException.class);
+        } else {
+            listener.get();
+            assertTrue(request.processedOnPrimary.get());
+        }
+        assertIndexShardCounter(0);
+        assertReleasedOnce(request);
+    }
+
+    public void testReplicaActionReleasesRequestOnce() throws Exception {
+        final ShardId shardId = new ShardId("test", "_na_", 0);
+        ClusterState state = state(shardId.getIndexName(), true, ShardRoutingState.STARTED, ShardRoutingState.STARTED);
+        final ShardRouting replica = state.getRoutingTable().shardRoutingTable(shardId).replicaShards().get(0);
+        final long primaryTerm = state.metadata().getProject().index(shardId.getIndexName()).primaryTerm(shardId.id());
+        // simulate execution of the node holding the replica
+        state = ClusterState.builder(state).nodes(DiscoveryNodes.builder(state.nodes()).localNodeId(replica.currentNodeId())).build();
+        setState(clusterService, state);
+        final boolean retry = randomBoolean();
+        final boolean fail = retry == false && randomBoolean();
+        new TestAction(Settings.EMPTY, "internal:testReplicaRelease", transportService, clusterService, shardStateAction, threadPool) {
+            @Override
+            protected void shardOperationOnReplica(Request shardRequest, IndexShard replica, ActionListener<ReplicaResult> listener) {
+                ActionListener.completeWith(listener, () -> {
+                    if (retry) {
+                        throw new RetryOnReplicaException(shardId, "simulated");
+                    } else if (fail) {
+                        throw new ElasticsearchException("simulated");
+                    }
+                    return new ReplicaResult();
+                });
+            }
+        };
+        final RefCountedRequest request = new RefCountedRequest(shardId);
+        final PlainActionFuture<TransportResponse> listener = new PlainActionFuture<>();
+        receiveRequest(
+            "internal:testReplicaRelease[r]",
+            new TransportReplicationAction.ConcreteReplicaRequest<>(
+                request,
+                replica.allocationId().getId(),
+                primaryTerm,
+                randomNonNegativeLong(),
+                randomNonNegativeLong()
+            ),
+            createTransportChannel(listener)
+        );
+
+        if (retry) {
+            assertFalse(listener.isDone());
+            assertTrue("request must be retained while waiting for a retry", request.hasReferences());
+            setState(clusterService, state);
+            final CapturingTransport.CapturedRequest[] capturedRequests = transport.getCapturedRequestsAndClear();
+            assertThat(capturedRequests, arrayWithSize(1));
+            assertThat(capturedRequests[0].action(), equalTo("internal:testReplicaRelease[r]"));
+            assertTrue("request must be retained while the retry is in flight", request.hasReferences());
+            transport.handleResponse(
+                capturedRequests[0].requestId(),
+                new TransportReplicationAction.ReplicaResponse(randomNonNegativeLong(), randomNonNegativeLong())
+            );
+        }
+        assertTrue(listener.isDone());
+        if (fail) {
+            assertListenerThrows("replica failure must fail the request", listener, ElasticsearchException.class);
+        } else {
+            listener.get();
+        }
+        assertIndexShardCounter(0);
+        assertReleasedOnce(request);
+    }
+
+    public void testPrimaryResponseIsSerializedBeforeRequestIsReleased() throws Exception {
+        final String index = "test";
+        final ShardId shardId = new ShardId(index, "_na_", 0);
+        // no replicas in order to skip the replication part
+        setState(clusterService, state(index, true, ShardRoutingState.STARTED));
+        final ShardRouting primary = clusterService.state().routingTable().shardRoutingTable(shardId).primaryShard();
+        final long primaryTerm = clusterService.state().metadata().getProject().index(index).primaryTerm(shardId.id());
+        isPrimaryMode.set(true);
+        final AtomicReference<Runnable> completePrimary = new AtomicReference<>();
+        new TestAction(Settings.EMPTY, "internal:testSourceInResponse", transportService, clusterService, shardStateAction, threadPool) {
+            @Override
+            protected void shardOperationOnPrimary(
+                Request shardRequest,
+                IndexShard primary,
+                ActionListener<PrimaryResult<Request, TestResponse>> listener
+            ) {
+                // like an update that turned into an upsert, whose get result holds the source of the request that was indexed
+                final BytesReference source = new BytesArray(((RefCountedRequest) shardRequest).source);
+                completePrimary.set(() -> listener.onResponse(new PrimaryResult<>(shardRequest, new SourceResponse(source))));
+            }
+        };
+        final RefCountedRequest request = new RefCountedRequest(shardId);
+        final BytesReference expectedSource = new BytesArray(request.source.clone());
+        final AtomicReference<BytesReference> sentSource = new AtomicReference<>();
+        // serializes the response like the outbound handler does when sending it
+        final TransportChannel channel = new TestTransportChannel(ActionListener.wrap(response -> {
+            try (BytesStreamOutput out = new BytesStreamOutput()) {
+                response.writeTo(out);
+                sentSource.set(new SourceResponse(out.bytes().streamInput()).source);
+            }
+        }, e -> { throw new AssertionError(e); }));
+        receiveRequest(
+            "internal:testSourceInResponse[p]",
+            new TransportReplicationAction.ConcreteShardRequest<>(request, primary.allocationId().getId(), primaryTerm),
+            channel
+        );
+        // complete the operation once the inbound transport layer released its reference, so the handler's one is the last
+        assertNotNull(completePrimary.get());
+        completePrimary.get().run();
+
+        assertThat(sentSource.get(), equalTo(expectedSource));
+        assertIndexShardCounter(0);
+        assertReleasedOnce(request);
+    }
+
+    /**
+     * Delivers a request to the handler registered for the given action like the inbound transport layer does: the request comes with a
+     * reference owned by the transport layer, which releases it once the handler returns.
+     */
+    private <T extends TransportRequest> void receiveRequest(String action, T request, TransportChannel channel) throws Exception {
+        @SuppressWarnings("unchecked")
+        final RequestHandlerRegistry<T> handler = (RequestHandlerRegistry<T>) transportService.getRequestHandler(action);
+        try {
+            handler.processMessageReceived(request, channel);
+        } finally {
+            request.decRef();
+        }
+    }
+
+    private static void assertReleasedOnce(RefCountedRequest request) {
+        assertFalse("request must be released once the response is sent", request.hasReferences());
+        assertThat(request.releaseCount.get(), equalTo(1));
+    }
+
     public void testIsRetryableClusterBlockException() {
         final TestAction action = new TestAction(
             Settings.EMPTY,
@@ -1474,6 +1674,43 @@ public class TransportReplicationActionTests extends ESTestCase {
         }
     }
 
+    /**
+     * A request that is ref-counted like one whose content is held in pooled network buffers, and that counts how often it is released.
+     */
+    static class RefCountedRequest extends Request {
+        final AtomicInteger releaseCount = new AtomicInteger();
+        // stands in for the content held in the network buffers, which are recycled once the request is released
+        final byte[] source = randomAlphaOfLength(between(1, 100)).getBytes(StandardCharsets.UTF_8);
+        private final RefCounted refCounted = AbstractRefCounted.of(() -> {
+            releaseCount.incrementAndGet();
+            Arrays.fill(source, (byte) 0);
+        });
+
+        RefCountedRequest(ShardId shardId) {
+            super(shardId);
+        }
+
+        @Override
+        public void incRef() {
+            refCounted.incRef();
+        }
+
+        @Override
+        public boolean tryIncRef() {
+            return refCounted.tryIncRef();
+        }
+
+        @Override
+        public boolean decRef() {
+            return refCounted.decRef();
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return refCounted.hasReferences();
+        }
+    }
+
     static class TestResponse extends ReplicationResponse {
         TestResponse(StreamInput in) throws IOException {
             super(in);
@@ -1484,6 +1721,25 @@ public class TransportReplicationActionTests extends ESTestCase {
         }
     }
 
+    static class SourceResponse extends TestResponse {
+        final BytesReference source;
+
+        SourceResponse(StreamInput in) throws IOException {
+            super(in);
+            source = in.readBytesReference();
+        }
+
+        SourceResponse(BytesReference source) {
+            this.source = source;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            out.writeBytesReference(source);
+        }
+    }
+
     private class TestAction extends TransportReplicationAction<Request, Request, TestResponse> {
 
         TestAction(
@@ -288,6 +288,27 @@ public class IndexSettingsTests extends ESTestCase {
         assertEquals(Translog.Durability.REQUEST, settings.getTranslogDurability()); // test default
     }
 
+    public void testUpdateTranslogSyncDelay() {
+        IndexMetadata metadata = newIndexMeta(
+            "index",
+            Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, IndexVersion.current()).build()
+        );
+        IndexSettings settings = new IndexSettings(metadata, Settings.EMPTY);
+        assertEquals(TimeValue.ZERO, settings.getTranslogSyncDelay()); // test default
+        settings.updateIndexMetadata(
+            newIndexMeta("index", Settings.builder().put(IndexSettings.INDEX_TRANSLOG_SYNC_DELAY_SETTING.getKey(), "5ms").build())
+        );
+        assertEquals(TimeValue.timeValueMillis(5), settings.getTranslogSyncDelay());
+
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> IndexSettings.INDEX_TRANSLOG_SYNC_DELAY_SETTING.get(
+                Settings.builder().put(IndexSettings.INDEX_TRANSLOG_SYNC_DELAY_SETTING.getKey(), "1s").build()
+            )
+        );
+        assertThat(e.getMessage(), containsString("index.translog.sync_delay"));
+    }
+
     public void testIsWarmerEnabled() {
         IndexMetadata metadata = newIndexMeta(
             "index",
@@ -307,6 +328,21 @@ public class IndexSettingsTests extends ESTestCase {
         assertTrue(settings.isWarmerEnabled());
     }
 
+    public void testIsWriteBlocked() {
+        IndexMetadata metadata = newIndexMeta(
+            "index",
+            Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, IndexVersion.current()).build()
+        );
+        IndexSettings settings = new IndexSettings(metadata, Settings.EMPTY);
+        assertFalse(settings.isWriteBlocked());
+        settings.updateIndexMetadata(
+            newIndexMeta("index", Settings.builder().put(IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.getKey(), true).build())
+        );
+        assertTrue(settings.isWriteBlocked());
+        settings.updateIndexMetadata(newIndexMeta("index", Settings.EMPTY));
+        assertFalse(settings.isWriteBlocked());
+    }
+
     public void testRefreshInterval() {
         String refreshInterval = getRandomTimeString();
         IndexMetadata metadata = newIndexMeta(
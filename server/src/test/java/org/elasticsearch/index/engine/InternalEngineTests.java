@@ -1265,6 +1265,49 @@ public class InternalEngineTests extends EngineTestCase {
         checker.run();
     }
 
+    public void testTranslogSyncDelaySharesFsyncAcrossConcurrentWriters() throws Exception {
+        final TimeValue syncDelay = TimeValue.timeValueMillis(100);
+        final Settings settings = Settings.builder()
+            .put(defaultSettings.getSettings())
+            .put(IndexSettings.INDEX_TRANSLOG_SYNC_DELAY_SETTING.getKey(), syncDelay)
+            .build();
+        final IndexSettings indexSettings = IndexSettingsModule.newIndexSettings(
+            IndexMetadata.builder(defaultSettings.getIndexMetadata()).settings(settings).build()
+        );
+        try (
+            Store store = createStore();
+            InternalEngine engine = createEngine(config(indexSettings, store, createTempDir(), newMergePolicy(), null))
+        ) {
+            final int numWriters = between(2, 8);
+            final long[] persistedCheckpointOnSync = new long[numWriters];
+            final CountDownLatch synced = new CountDownLatch(numWriters);
+            final long startNanos = System.nanoTime();
+            startInParallel(numWriters, i -> {
+                try {
+                    ParsedDocument doc = testParsedDocument(Integer.toString(i), null, testDocument(), B_1, null);
+                    Engine.IndexResult result = engine.index(indexForDoc(doc));
+                    engine.asyncEnsureTranslogSynced(result.getTranslogLocation(), e -> {
+                        assertNull(e);
+                        persistedCheckpointOnSync[i] = engine.getPersistedLocalCheckpoint();
+                        synced.countDown();
+                    });
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            });
+            final long writeNanos = System.nanoTime() - startNanos;
+            safeAwait(synced);
+            assertThat(engine.getPersistedLocalCheckpoint(), equalTo(numWriters - 1L));
+            if (writeNanos < syncDelay.nanos()) {
+                // every operation was written before the first delayed sync ran, so its fsync persisted all of them and every writer was
+                // acknowledged by that single fsync, the other syncs found their locations already synced
+                for (long persistedCheckpoint : persistedCheckpointOnSync) {
+                    assertThat(persistedCheckpoint, equalTo(numWriters - 1L));
+                }
+            }
+        }
+    }
+
     public void testSyncedFlushSurvivesEngineRestart() throws IOException {
         final AtomicLong globalCheckpoint = new AtomicLong(SequenceNumbers.NO_OPS_PERFORMED);
         IOUtils.close(store, engine);
@@ -10,6 +10,7 @@
 package org.elasticsearch.index.engine;
 
 import org.apache.lucene.tests.util.RamUsageTester;
+import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.index.translog.Translog;
 import org.elasticsearch.test.ESTestCase;
 
@@ -24,6 +25,32 @@ public class VersionValueTests extends ESTestCase {
         assertEquals(RamUsageTester.ramUsed(versionValue), versionValue.ramBytesUsed());
     }
 
+    public void testIndexRamBytesUsedDoesNotDependOnLocation() {
+        long version = randomLong();
+        long seqNo = randomLong();
+        long term = randomLong();
+        IndexVersionValue withoutLocation = new IndexVersionValue(null, version, seqNo, term);
+        IndexVersionValue withLocation = new IndexVersionValue(
+            new Translog.Location(randomNonNegativeLong(), randomNonNegativeLong(), randomInt()),
+            version,
+            seqNo,
+            term
+        );
+        // the location is stored inline, so it doesn't cost a separate object
+        assertEquals(withoutLocation.ramBytesUsed(), withLocation.ramBytesUsed());
+        assertEquals(RamUsageTester.ramUsed(withLocation), withLocation.ramBytesUsed());
+        assertEquals(RamUsageEstimator.shallowSizeOfInstance(IndexVersionValue.class), withLocation.ramBytesUsed());
+    }
+
+    public void testIndexLocation() {
+        Translog.Location translogLoc = null;
+        if (randomBoolean()) {
+            translogLoc = new Translog.Location(randomNonNegativeLong(), randomNonNegativeLong(), randomInt());
+        }
+        IndexVersionValue versionValue = new IndexVersionValue(translogLoc, randomLong(), randomLong(), randomLong());
+        assertEquals(translogLoc, versionValue.getLocation());
+    }
+
     public void testDeleteRamBytesUsed() {
         DeleteVersionValue versionValue = new DeleteVersionValue(randomLong(), randomLong(), randomLong(), randomLong());
         assertEquals(RamUsageTester.ramUsed(versionValue), versionValue.ramBytesUsed());
@@ -367,6 +367,25 @@ public class TranslogTests extends ESTestCase {
         return string;
     }
 
+    public void testSnapshotOperationsAroundReadAhead() throws IOException {
+        // mix small operations that share the read ahead buffer with ones that straddle it or don't fit in it at all
+        List<Translog.Operation> ops = new ArrayList<>();
+        int numOps = between(1, 50);
+        for (int i = 0; i < numOps; i++) {
+            int sourceLength = randomBoolean()
+                ? between(0, 1024)
+                : between(TranslogSnapshot.READ_AHEAD_SIZE - 1024, TranslogSnapshot.READ_AHEAD_SIZE + 1024);
+            addToTranslogAndList(
+                translog,
+                ops,
+                TranslogOperationsUtils.indexOp(Integer.toString(i), i, primaryTerm.get(), randomAlphaOfLength(sourceLength))
+            );
+        }
+        try (Translog.Snapshot snapshot = translog.newSnapshot()) {
+            assertThat(snapshot, SnapshotMatchers.equalsTo(ops));
+        }
+    }
+
     public void testSimpleOperations() throws IOException {
         ArrayList<Translog.Operation> ops = new ArrayList<>();
         try (Translog.Snapshot snapshot = translog.newSnapshot()) {
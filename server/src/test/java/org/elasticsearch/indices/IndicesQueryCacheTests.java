@@ -24,6 +24,7 @@ import org.apache.lucene.search.QueryVisitor;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.ScorerSupplier;
+import org.apache.lucene.search.UsageTrackingQueryCachingPolicy;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
@@ -279,6 +280,51 @@ public class IndicesQueryCacheTests extends ESTestCase {
         cache.close(); // this triggers some assertions
     }
 
+    public void testTrackUsageAcrossShards() throws IOException {
+        Directory dir1 = newDirectory();
+        IndexWriter w1 = new IndexWriter(dir1, newIndexWriterConfig());
+        w1.addDocument(new Document());
+        DirectoryReader r1 = DirectoryReader.open(w1);
+        w1.close();
+        ShardId shard1 = new ShardId("index1", "_na_", 0);
+        r1 = ElasticsearchDirectoryReader.wrap(r1, shard1);
+        IndexSearcher s1 = new IndexSearcher(r1);
+        s1.setQueryCachingPolicy(new UsageTrackingQueryCachingPolicy());
+
+        Directory dir2 = newDirectory();
+        IndexWriter w2 = new IndexWriter(dir2, newIndexWriterConfig());
+        w2.addDocument(new Document());
+        DirectoryReader r2 = DirectoryReader.open(w2);
+        w2.close();
+        ShardId shard2 = new ShardId("index2", "_na_", 0);
+        r2 = ElasticsearchDirectoryReader.wrap(r2, shard2);
+        IndexSearcher s2 = new IndexSearcher(r2);
+        s2.setQueryCachingPolicy(new UsageTrackingQueryCachingPolicy());
+
+        Settings settings = Settings.builder()
+            .put(IndicesQueryCache.INDICES_QUERIES_CACHE_ALL_SEGMENTS_SETTING.getKey(), true)
+            .put(IndicesQueryCache.INDICES_QUERIES_CACHE_TRACK_USAGE_ACROSS_SHARDS_SETTING.getKey(), true)
+            .build();
+        IndicesQueryCache cache = new IndicesQueryCache(settings);
+        s1.setQueryCache(cache);
+        s2.setQueryCache(cache);
+
+        // not used often enough to cache yet
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, s1.count(new DummyQuery(0)));
+        }
+        assertEquals(0L, cache.getStats(shard1).getCacheCount());
+
+        // the first use on the second shard is frequent enough for the node
+        assertEquals(1, s2.count(new DummyQuery(0)));
+        assertEquals(1L, cache.getStats(shard2).getCacheCount());
+
+        IOUtils.close(r1, dir1, r2, dir2);
+        cache.onClose(shard1);
+        cache.onClose(shard2);
+        cache.close(); // this triggers some assertions
+    }
+
     // Make sure the cache behaves correctly when a segment that is associated
     // with an empty cache gets closed. In that particular case, the eviction
     // callback is called with a number of evicted entries equal to 0
@@ -30,6 +30,7 @@ import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.iterable.Iterables;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.index.cache.request.ShardRequestCache;
@@ -47,6 +48,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.startsWith;
 
 public class IndicesRequestCacheTests extends ESTestCase {
 
@@ -346,6 +348,73 @@ public class IndicesRequestCacheTests extends ESTestCase {
         IOUtils.close(reader, secondReader, thirdReader, writer, dir, cache);
     }
 
+    public void testReadOnlyCache() throws Exception {
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        // the read only cache takes all but one byte of the budget, so the regular cache is too small to hold anything and only
+        // entries of read only entities survive
+        IndicesRequestCache cache = new IndicesRequestCache(
+            Settings.builder()
+                .put(IndicesRequestCache.INDICES_CACHE_QUERY_SIZE.getKey(), (ByteSizeValue.ofMb(1).getBytes() + 1) + "b")
+                .put(IndicesRequestCache.INDICES_CACHE_QUERY_READ_ONLY_SIZE.getKey(), "1mb")
+                .build()
+        );
+        ShardRequestCache requestCacheStats = new ShardRequestCache();
+        Directory dir = newDirectory();
+        IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig());
+
+        writer.addDocument(newDoc(0, "foo"));
+        DirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(writer), new ShardId("foo", "bar", 1));
+        DirectoryReader secondReader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(writer), new ShardId("foo", "baz", 1));
+        TermQueryBuilder termQuery = new TermQueryBuilder("id", "0");
+        BytesReference termBytes = XContentHelper.toXContent(termQuery, XContentType.JSON, false);
+        AtomicBoolean readOnlyShard = new AtomicBoolean(true);
+        AtomicBoolean indexShard = new AtomicBoolean(true);
+
+        TestEntity readOnlyEntity = new TestEntity(requestCacheStats, readOnlyShard, true);
+        Loader loader = new Loader(reader, 0);
+        assertEquals("foo", cache.getOrCompute(readOnlyEntity, loader, mappingKey, reader, termBytes).streamInput().readString());
+        assertFalse(loader.loadedFromCache);
+
+        TestEntity entity = new TestEntity(requestCacheStats, indexShard);
+        loader = new Loader(secondReader, 0);
+        assertEquals("foo", cache.getOrCompute(entity, loader, mappingKey, secondReader, termBytes).streamInput().readString());
+        assertFalse(loader.loadedFromCache);
+        assertEquals(1, requestCacheStats.stats().getEvictions());
+        assertEquals(1, cache.count());
+
+        loader = new Loader(reader, 0);
+        assertEquals("foo", cache.getOrCompute(readOnlyEntity, loader, mappingKey, reader, termBytes).streamInput().readString());
+        assertTrue(loader.loadedFromCache);
+        assertEquals(1, requestCacheStats.stats().getHitCount());
+        assertEquals(1L, Iterables.size(cache.cachedKeys()));
+
+        readOnlyShard.set(false);
+        cache.clear(readOnlyEntity);
+        cache.cleanCache();
+        assertEquals(0, cache.count());
+        assertEquals(0L, requestCacheStats.stats().getMemorySize().getBytes());
+
+        IOUtils.close(reader, secondReader, writer, dir, cache);
+    }
+
+    public void testReadOnlyCacheMustFitInTheCache() {
+        IllegalArgumentException e = expectThrows(
+            IllegalArgumentException.class,
+            () -> new IndicesRequestCache(
+                Settings.builder()
+                    .put(IndicesRequestCache.INDICES_CACHE_QUERY_SIZE.getKey(), "1mb")
+                    .put(IndicesRequestCache.INDICES_CACHE_QUERY_READ_ONLY_SIZE.getKey(), randomFrom("1mb", "2mb"))
+                    .build()
+            )
+        );
+        assertThat(
+            e.getMessage(),
+            startsWith(
+                "[indices.requests.cache.read_only_size] must be smaller than [indices.requests.cache.size] because it is part of it"
+            )
+        );
+    }
+
     public void testClearAllEntityIdentity() throws Exception {
         IndicesRequestCache cache = new IndicesRequestCache(Settings.EMPTY);
         AtomicBoolean indexShard = new AtomicBoolean(true);
@@ -618,10 +687,16 @@ public class IndicesRequestCacheTests extends ESTestCase {
     private static class TestEntity extends AbstractIndexShardCacheEntity {
         private final AtomicBoolean standInForIndexShard;
         private final ShardRequestCache shardRequestCache;
+        private final boolean readOnly;
 
         private TestEntity(ShardRequestCache shardRequestCache, AtomicBoolean standInForIndexShard) {
+            this(shardRequestCache, standInForIndexShard, false);
+        }
+
+        private TestEntity(ShardRequestCache shardRequestCache, AtomicBoolean standInForIndexShard, boolean readOnly) {
             this.standInForIndexShard = standInForIndexShard;
             this.shardRequestCache = shardRequestCache;
+            this.readOnly = readOnly;
         }
 
         @Override
@@ -639,6 +714,11 @@ public class IndicesRequestCacheTests extends ESTestCase {
             return standInForIndexShard;
         }
 
+        @Override
+        public boolean isReadOnly() {
+            return readOnly;
+        }
+
         @Override
         public long ramBytesUsed() {
             return 42;
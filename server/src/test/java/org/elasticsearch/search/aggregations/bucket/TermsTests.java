@@ -189,6 +189,13 @@ public class TermsTests extends BaseAggregationTestCase<TermsAggregationBuilder>
             if (randomBoolean()) {
                 terms.shardSize(randomIntBetween(1, 100));
             }
+            assertTrue(terms.supportsParallelCollection(field -> randomIntBetween(51, 100)));
+        }
+        {
+            TermsAggregationBuilder terms = new TermsAggregationBuilder("terms");
+            terms.order(randomBoolean() ? BucketOrder.key(randomBoolean()) : BucketOrder.compound(BucketOrder.key(randomBoolean())));
+            terms.shardMinDocCount(randomLongBetween(2, 10));
+            assertTrue(terms.supportsParallelCollection(field -> randomIntBetween(0, 49)));
             assertFalse(terms.supportsParallelCollection(field -> randomIntBetween(51, 100)));
         }
         {
@@ -23,7 +23,10 @@ import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
@@ -139,6 +142,7 @@ import static java.util.stream.Collectors.toList;
 import static org.elasticsearch.index.mapper.SeqNoFieldMapper.PRIMARY_TERM_NAME;
 import static org.elasticsearch.search.aggregations.AggregationBuilders.terms;
 import static org.elasticsearch.search.aggregations.PipelineAggregatorBuilders.bucketScript;
+import static org.elasticsearch.test.InternalAggregationTestCase.DEFAULT_MAX_BUCKETS;
 import static org.elasticsearch.test.MapMatcher.assertMap;
 import static org.elasticsearch.test.MapMatcher.matchesMap;
 import static org.hamcrest.Matchers.anyOf;
@@ -260,6 +264,48 @@ public class TermsAggregatorTests extends AggregatorTestCase {
         directory.close();
     }
 
+    public void testRemapsGlobalOrdsOnlyWhenCollectingConcurrently() throws Exception {
+        randomizeAggregatorImpl = false;
+
+        MappedFieldType fieldType = new KeywordFieldType("string", false, true, Collections.emptyMap());
+        try (Directory directory = newDirectory()) {
+            // several segments so that a concurrent search gets several slices, and too many terms for filter-by-filter
+            try (IndexWriter indexWriter = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+                for (int i = 0; i < 2000; i++) {
+                    indexWriter.addDocument(List.of(new SortedDocValuesField("string", new BytesRef(Integer.toString(i)))));
+                    if (i % 500 == 499) {
+                        indexWriter.commit();
+                    }
+                }
+            }
+            try (DirectoryReader indexReader = DirectoryReader.open(directory)) {
+                assertThat(indexReader.leaves().size(), greaterThan(1));
+                for (boolean concurrent : new boolean[] { false, true }) {
+                    AggregationContext context = createAggregationContext(
+                        indexReader,
+                        createIndexSettings(),
+                        new MatchAllDocsQuery(),
+                        new NoneCircuitBreakerService(),
+                        AggregationBuilder.DEFAULT_PREALLOCATION,
+                        DEFAULT_MAX_BUCKETS,
+                        false,
+                        concurrent,
+                        fieldType
+                    );
+                    // ordered by key a high cardinality field is collected concurrently, which needs remapping
+                    TermsAggregationBuilder keyOrdered = new TermsAggregationBuilder("_name").field("string").order(BucketOrder.key(true));
+                    GlobalOrdinalsStringTermsAggregator aggregator = createAggregator(keyOrdered, context);
+                    assertThat(aggregator.descriptCollectionStrategy(), equalTo(concurrent ? "remap using single bucket ords" : "dense"));
+
+                    // ordered by count it isn't collected concurrently, so it keeps the direct global ordinals collector
+                    TermsAggregationBuilder countOrdered = new TermsAggregationBuilder("_name").field("string");
+                    aggregator = createAggregator(countOrdered, context);
+                    assertThat(aggregator.descriptCollectionStrategy(), equalTo("dense"));
+                }
+            }
+        }
+    }
+
     public void testSimple() throws Exception {
         MappedFieldType fieldType = new KeywordFieldMapper.KeywordFieldType("string", randomBoolean(), true, Collections.emptyMap());
         TermsAggregationBuilder aggregationBuilder = new TermsAggregationBuilder("_name").executionHint(
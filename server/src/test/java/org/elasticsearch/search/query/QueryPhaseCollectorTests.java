@@ -51,6 +51,8 @@ import org.junit.BeforeClass;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.elasticsearch.search.query.QueryPhaseCollector.resolveTerminateAfterChecker;
 
@@ -1402,6 +1404,57 @@ public class QueryPhaseCollectorTests extends ESTestCase {
         }
     }
 
+    public void testNonCompetitiveLeavesTopDocsOnly() throws IOException {
+        Set<Integer> nonCompetitiveLeaves = new HashSet<>();
+        int expectedCount = 0;
+        for (LeafReaderContext context : searcher.getLeafContexts()) {
+            if (randomBoolean()) {
+                nonCompetitiveLeaves.add(context.ord);
+            } else {
+                expectedCount += context.reader().numDocs();
+            }
+        }
+        DummyTotalHitCountCollector topDocsCollector = new DummyTotalHitCountCollector();
+        QueryPhaseCollector queryPhaseCollector = new QueryPhaseCollector(
+            topDocsCollector,
+            null,
+            resolveTerminateAfterChecker(0),
+            context -> nonCompetitiveLeaves.contains(context.ord),
+            null,
+            null
+        );
+        searcher.search(new MatchAllDocsQuery(), queryPhaseCollector);
+        assertFalse(queryPhaseCollector.isTerminatedAfter());
+        assertEquals(expectedCount, topDocsCollector.getTotalHits());
+    }
+
+    public void testNonCompetitiveLeavesWithAggs() throws IOException {
+        Set<Integer> nonCompetitiveLeaves = new HashSet<>();
+        int expectedCount = 0;
+        for (LeafReaderContext context : searcher.getLeafContexts()) {
+            if (randomBoolean()) {
+                nonCompetitiveLeaves.add(context.ord);
+            } else {
+                expectedCount += context.reader().numDocs();
+            }
+        }
+        DummyTotalHitCountCollector topDocsCollector = new DummyTotalHitCountCollector();
+        DummyTotalHitCountCollector aggsCollector = new DummyTotalHitCountCollector();
+        QueryPhaseCollector queryPhaseCollector = new QueryPhaseCollector(
+            topDocsCollector,
+            null,
+            resolveTerminateAfterChecker(0),
+            context -> nonCompetitiveLeaves.contains(context.ord),
+            aggsCollector,
+            null
+        );
+        searcher.search(new MatchAllDocsQuery(), queryPhaseCollector);
+        assertFalse(queryPhaseCollector.isTerminatedAfter());
+        assertEquals(expectedCount, topDocsCollector.getTotalHits());
+        // aggs still see the docs of the segments that top docs collection skips
+        assertEquals(numDocs, aggsCollector.getTotalHits());
+    }
+
     private static ScoreMode randomScoreModeExceptTopScores() {
         return randomFrom(Arrays.stream(ScoreMode.values()).filter(scoreMode -> scoreMode != ScoreMode.TOP_SCORES).toList());
     }
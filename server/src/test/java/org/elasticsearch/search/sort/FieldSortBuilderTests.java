@@ -19,6 +19,10 @@ import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.document.SortedNumericDocValuesField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.PointValues;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.sandbox.document.HalfFloatPoint;
 import org.apache.lucene.search.SortField;
@@ -653,6 +657,43 @@ public class FieldSortBuilderTests extends AbstractSortTestCase<FieldSortBuilder
         }
     }
 
+    public void testIsBottomSortSegmentDisjoint() throws Exception {
+        try (Directory dir = newDirectory()) {
+            IndexWriterConfig config = newIndexWriterConfig(new KeywordAnalyzer()).setMergePolicy(NoMergePolicy.INSTANCE);
+            try (RandomIndexWriter writer = new RandomIndexWriter(random(), dir, config)) {
+                // one segment holds values in [1, 100], the other one values in [1000, 1100]
+                for (long base : new long[] { 1, 1000 }) {
+                    int numDocs = randomIntBetween(5, 10);
+                    for (int i = 0; i < numDocs; i++) {
+                        Document doc = new Document();
+                        long value = base + randomIntBetween(0, 100);
+                        doc.add(new LongPoint("custom-date", value));
+                        doc.add(new SortedNumericDocValuesField("custom-date", value));
+                        writer.addDocument(doc);
+                    }
+                    writer.flush();
+                }
+                try (DirectoryReader reader = writer.getReader()) {
+                    SearchExecutionContext context = createMockSearchExecutionContext(newSearcher(reader));
+                    DocValueFormat[] dateValueFormat = new DocValueFormat[] {
+                        context.getFieldType("custom-date").docValueFormat(null, null) };
+                    SearchSortValuesAndFormats bottom = new SearchSortValuesAndFormats(new Object[] { 500L }, dateValueFormat);
+                    FieldSortBuilder fieldSort = SortBuilders.fieldSort("custom-date");
+                    assertFalse(fieldSort.isBottomSortShardDisjoint(context, bottom));
+                    for (LeafReaderContext leaf : reader.leaves()) {
+                        byte[] minPackedValue = PointValues.getMinPackedValue(leaf.reader(), "custom-date");
+                        boolean highValues = LongPoint.decodeDimension(minPackedValue, 0) >= 1000;
+                        fieldSort.order(SortOrder.ASC);
+                        assertEquals(highValues, fieldSort.isBottomSortDisjoint(context, leaf.reader(), bottom));
+                        fieldSort.order(SortOrder.DESC);
+                        assertEquals(highValues == false, fieldSort.isBottomSortDisjoint(context, leaf.reader(), bottom));
+                        assertFalse(fieldSort.isBottomSortDisjoint(context, leaf.reader(), null));
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     protected FieldSortBuilder fromXContent(XContentParser parser, String fieldName) throws IOException {
         return FieldSortBuilder.fromXContent(parser, fieldName);
@@ -0,0 +1,292 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.transport;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.CompositeBytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.recycler.Recycler;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThan;
+
+public class ZstdTransportDecompressorTests extends ESTestCase {
+
+    private final Recycler<BytesRef> recycler = new BytesRefRecycler(new MockPageCacheRecycler(Settings.EMPTY));
+
+    public void testSimpleCompression() throws IOException {
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            byte randomByte = randomByte();
+            try (OutputStream zstdBlockStream = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(output))) {
+                zstdBlockStream.write(randomByte);
+            }
+
+            BytesReference bytes = output.bytes();
+
+            ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+            int bytesConsumed = decompressor.decompress(bytes);
+            assertEquals(bytes.length(), bytesConsumed);
+            assertTrue(decompressor.isClosed());
+            ReleasableBytesReference releasableBytesReference = decompressor.pollDecompressedPage(true);
+            assertEquals(randomByte, releasableBytesReference.get(0));
+            releasableBytesReference.close();
+        }
+    }
+
+    public void testMultiPageCompression() throws IOException {
+        int intsToWrite = 150000;
+        int uncompressedLength = intsToWrite * 4;
+
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (
+                StreamOutput zstdBlockStream = new OutputStreamStreamOutput(
+                    Compression.Scheme.zstdOutputStream(Streams.flushOnCloseStream(output))
+                )
+            ) {
+                for (int i = 0; i < intsToWrite; ++i) {
+                    int lowByte = (i & 0xFF);
+                    if (lowByte < 128) {
+                        zstdBlockStream.writeInt(0);
+                    } else if (lowByte < 200) {
+                        zstdBlockStream.writeInt(1);
+                    } else {
+                        zstdBlockStream.writeInt(i);
+                    }
+                }
+            }
+
+            BytesReference bytes = output.bytes();
+            // Since 200 / 255 data is repeated, we should get a compression ratio of at least 50%
+            assertThat(bytes.length(), lessThan(uncompressedLength / 2));
+
+            ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+            int bytesConsumed = decompressor.decompress(bytes);
+            assertEquals(bytes.length(), bytesConsumed);
+            assertTrue(decompressor.isClosed());
+
+            int numOfUncompressedPages = uncompressedLength / PageCacheRecycler.BYTE_PAGE_SIZE;
+            if (bytes.length() % PageCacheRecycler.BYTE_PAGE_SIZE > 0) {
+                numOfUncompressedPages += 1;
+            }
+
+            ReleasableBytesReference[] polledReferences = new ReleasableBytesReference[numOfUncompressedPages];
+            for (int i = 0; i < numOfUncompressedPages - 1; ++i) {
+                polledReferences[i] = decompressor.pollDecompressedPage(false);
+            }
+
+            polledReferences[numOfUncompressedPages - 1] = decompressor.pollDecompressedPage(true);
+            assertNull(decompressor.pollDecompressedPage(true));
+
+            BytesReference composite = CompositeBytesReference.of(polledReferences);
+            assertEquals(uncompressedLength, composite.length());
+            StreamInput streamInput = composite.streamInput();
+            for (int i = 0; i < intsToWrite; ++i) {
+                int lowByte = (i & 0xFF);
+                if (lowByte < 128) {
+                    assertEquals(0, streamInput.readInt());
+                } else if (lowByte < 200) {
+                    assertEquals(1, streamInput.readInt());
+                } else {
+                    assertEquals(i, streamInput.readInt());
+                }
+            }
+            Releasables.close(polledReferences);
+        }
+    }
+
+    public void testIncrementalMultiPageCompression() throws IOException {
+        int intsToWrite = 150000;
+        int uncompressedLength = intsToWrite * 4;
+
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (
+                StreamOutput zstdBlockStream = new OutputStreamStreamOutput(
+                    Compression.Scheme.zstdOutputStream(Streams.flushOnCloseStream(output))
+                )
+            ) {
+                for (int i = 0; i < intsToWrite; ++i) {
+                    int lowByte = (i & 0xFF);
+                    if (lowByte < 128) {
+                        zstdBlockStream.writeInt(0);
+                    } else if (lowByte < 200) {
+                        zstdBlockStream.writeInt(1);
+                    } else {
+                        zstdBlockStream.writeInt(i);
+                    }
+                }
+            }
+
+            BytesReference bytes = output.bytes();
+            // Since 200 / 255 data is repeated, we should get a compression ratio of at least 50%
+            assertThat(bytes.length(), lessThan(uncompressedLength / 2));
+
+            ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler);
+
+            int split1 = (int) (bytes.length() * 0.3);
+            int split2 = (int) (bytes.length() * 0.65);
+            BytesReference inbound1 = bytes.slice(0, split1);
+            BytesReference inbound2 = bytes.slice(split1, split2 - split1);
+            BytesReference inbound3 = bytes.slice(split2, bytes.length() - split2);
+
+            int bytesConsumed1 = decompressor.decompress(inbound1);
+            BytesReference next = CompositeBytesReference.of(inbound1.slice(bytesConsumed1, inbound1.length() - bytesConsumed1), inbound2);
+            int bytesConsumed2 = decompressor.decompress(next);
+            BytesReference next2 = CompositeBytesReference.of(next.slice(bytesConsumed2, next.length() - bytesConsumed2), inbound3);
+            int bytesConsumed3 = decompressor.decompress(next2);
+            assertEquals(bytes.length(), bytesConsumed1 + bytesConsumed2 + bytesConsumed3);
+            assertTrue(decompressor.isClosed());
+
+            int numOfUncompressedPages = uncompressedLength / PageCacheRecycler.BYTE_PAGE_SIZE;
+            if (bytes.length() % PageCacheRecycler.BYTE_PAGE_SIZE > 0) {
+                numOfUncompressedPages += 1;
+            }
+
+            ReleasableBytesReference[] polledReferences = new ReleasableBytesReference[numOfUncompressedPages];
+            for (int i = 0; i < numOfUncompressedPages - 1; ++i) {
+                polledReferences[i] = decompressor.pollDecompressedPage(false);
+            }
+
+            polledReferences[numOfUncompressedPages - 1] = decompressor.pollDecompressedPage(true);
+            assertNull(decompressor.pollDecompressedPage(true));
+
+            BytesReference composite = CompositeBytesReference.of(polledReferences);
+            assertEquals(uncompressedLength, composite.length());
+            StreamInput streamInput = composite.streamInput();
+            for (int i = 0; i < intsToWrite; ++i) {
+                int lowByte = (i & 0xFF);
+                if (lowByte < 128) {
+                    assertEquals(0, streamInput.readInt());
+                } else if (lowByte < 200) {
+                    assertEquals(1, streamInput.readInt());
+                } else {
+                    assertEquals(i, streamInput.readInt());
+                }
+            }
+            Releasables.close(polledReferences);
+
+        }
+    }
+
+    public void testCorruptedBlockHeader() throws IOException {
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (OutputStream zstdBlockStream = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(output))) {
+                zstdBlockStream.write(randomByteArrayOfLength(between(1, 1000)));
+            }
+
+            byte[] bytes = BytesReference.toBytes(output.bytes());
+            // claim that the first block doesn't decompress to anything
+            int decompressedLengthOffset = Compression.Scheme.HEADER_LENGTH + 4;
+            bytes[decompressedLengthOffset] = 0;
+            bytes[decompressedLengthOffset + 1] = 0;
+            bytes[decompressedLengthOffset + 2] = 0;
+            bytes[decompressedLengthOffset + 3] = 0;
+
+            try (ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler)) {
+                IllegalStateException e = expectThrows(IllegalStateException.class, () -> decompressor.decompress(new BytesArray(bytes)));
+                assertThat(e.getMessage(), containsString("mismatch"));
+                expectThrows(IllegalStateException.class, () -> decompressor.decompress(new BytesArray(bytes)));
+            }
+        }
+    }
+
+    public void testMultipleBlocks() throws IOException {
+        byte[] block = randomByteArrayOfLength(256 * 1024);
+        try (BytesStreamOutput output = new BytesStreamOutput()) {
+            try (OutputStream zstdBlockStream = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(output))) {
+                zstdBlockStream.write(block);
+                zstdBlockStream.write(block);
+            }
+
+            BytesReference bytes = output.bytes();
+
+            try (ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler)) {
+                assertEquals(bytes.length(), decompressor.decompress(bytes));
+                assertTrue(decompressor.isClosed());
+                List<ReleasableBytesReference> pages = new ArrayList<>();
+                ReleasableBytesReference page;
+                while ((page = decompressor.pollDecompressedPage(false)) != null) {
+                    pages.add(page);
+                }
+                pages.add(decompressor.pollDecompressedPage(true));
+                BytesReference composite = CompositeBytesReference.of(pages.toArray(new ReleasableBytesReference[0]));
+                assertEquals(new BytesArray(block), composite.slice(0, block.length));
+                assertEquals(new BytesArray(block), composite.slice(block.length, block.length));
+                Releasables.close(pages);
+            }
+        }
+    }
+
+    public void testMessagesOfVaryingSizesOnOneThread() throws IOException {
+        // the thread's buffers grow with the messages and are reused by the next ones, whatever their size
+        for (int i = 0; i < 10; i++) {
+            byte[] message = randomByteArrayOfLength(randomFrom(between(0, 100), between(0, 64 * 1024), between(0, 600 * 1024)));
+            try (BytesStreamOutput output = new BytesStreamOutput()) {
+                try (OutputStream zstdStream = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(output))) {
+                    zstdStream.write(message);
+                }
+                assertEquals(new BytesArray(message), decompressFully(output.bytes()));
+            }
+        }
+    }
+
+    public void testNestedStreamsOnOneThread() throws IOException {
+        byte[] outerMessage = randomByteArrayOfLength(between(1, 300 * 1024));
+        byte[] innerMessage = randomByteArrayOfLength(between(1, 300 * 1024));
+        try (BytesStreamOutput outerOutput = new BytesStreamOutput(); BytesStreamOutput innerOutput = new BytesStreamOutput()) {
+            try (OutputStream outer = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(outerOutput))) {
+                outer.write(outerMessage, 0, outerMessage.length / 2);
+                // the outer stream holds this thread's buffers, so the inner one must not share them
+                try (OutputStream inner = Compression.Scheme.zstdOutputStream(org.elasticsearch.core.Streams.noCloseStream(innerOutput))) {
+                    inner.write(innerMessage);
+                }
+                outer.write(outerMessage, outerMessage.length / 2, outerMessage.length - outerMessage.length / 2);
+            }
+            assertEquals(new BytesArray(outerMessage), decompressFully(outerOutput.bytes()));
+            assertEquals(new BytesArray(innerMessage), decompressFully(innerOutput.bytes()));
+        }
+    }
+
+    private BytesReference decompressFully(BytesReference bytes) throws IOException {
+        try (ZstdTransportDecompressor decompressor = new ZstdTransportDecompressor(recycler)) {
+            assertEquals(bytes.length(), decompressor.decompress(bytes));
+            assertTrue(decompressor.isClosed());
+            List<ReleasableBytesReference> pages = new ArrayList<>();
+            ReleasableBytesReference page;
+            while ((page = decompressor.pollDecompressedPage(false)) != null) {
+                pages.add(page);
+            }
+            page = decompressor.pollDecompressedPage(true);
+            if (page != null) {
+                pages.add(page);
+            }
+            BytesReference composite = CompositeBytesReference.of(pages.toArray(new ReleasableBytesReference[0]));
+            BytesReference copy = new BytesArray(BytesReference.toBytes(composite));
+            Releasables.close(pages);
+            return copy;
+        }
+    }
+}
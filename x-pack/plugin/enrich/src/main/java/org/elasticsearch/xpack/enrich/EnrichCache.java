@@ -9,10 +9,14 @@ package org.elasticsearch.xpack.enrich;
 
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.SubscribableListener;
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.FixForMultiProject;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.search.SearchHit;
@@ -46,6 +50,8 @@ public final class EnrichCache {
     private static final CacheValue EMPTY_CACHE_VALUE = new CacheValue(List.of(), CacheKey.CACHE_KEY_SIZE);
 
     private final Cache<CacheKey, CacheValue> cache;
+    // lookups that have been sent but haven't completed yet, documents that need the same value wait for them rather than searching again
+    private final Map<CacheKey, SubscribableListener<CacheValue>> pendingLookups = ConcurrentCollections.newConcurrentMap();
     private final LongSupplier relativeNanoTimeProvider;
     private final AtomicLong hitsTimeInNanos = new AtomicLong(0);
     private final AtomicLong missesTimeInNanos = new AtomicLong(0);
@@ -82,11 +88,15 @@ public final class EnrichCache {
 
     /**
      * This method notifies the given listener of the value in this cache for the given search parameters. If there is no value in the cache
-     * for these search parameters, then the new cache value is computed using searchResponseFetcher.
+     * for these search parameters, then the new cache value is computed using searchResponseFetcher. If the same value is already being
+     * computed, for instance because an earlier document of the same bulk request has the same lookup value, then the listener is notified
+     * when that computation completes instead.
      *
      * @param enrichIndex The enrich index from which the results will be retrieved
      * @param lookupValue The value that will be used in the search
      * @param maxMatches The max number of matches that the search will return
+     * @param threadContext The thread context of the caller, which the listener is notified in even if the value is computed on behalf
+     *                      of another request
      * @param searchResponseFetcher The function used to compute the value to be put in the cache, if there is no value in the cache already
      * @param listener A listener to be notified of the value in the cache
      */
@@ -95,6 +105,7 @@ public final class EnrichCache {
         String enrichIndex,
         Object lookupValue,
         int maxMatches,
+        ThreadContext threadContext,
         Consumer<ActionListener<SearchResponse>> searchResponseFetcher,
         ActionListener<List<Map<?, ?>>> listener
     ) {
@@ -107,15 +118,30 @@ public final class EnrichCache {
             hitsTimeInNanos.addAndGet(cacheRequestTime);
             listener.onResponse(response);
         } else {
+            final SubscribableListener<CacheValue> lookup = new SubscribableListener<>();
+            final SubscribableListener<CacheValue> pendingLookup = pendingLookups.putIfAbsent(cacheKey, lookup);
+            // pending lookups are shared by unrelated requests, so each one must be notified in its own thread context
+            final ActionListener<CacheValue> subscriber = listener.map(cacheValue -> deepCopy(cacheValue.hits, false));
+            if (pendingLookup != null) {
+                pendingLookup.addListener(subscriber, EsExecutors.DIRECT_EXECUTOR_SERVICE, threadContext);
+                return;
+            }
+            lookup.addListener(subscriber, EsExecutors.DIRECT_EXECUTOR_SERVICE, threadContext);
             final long retrieveStart = relativeNanoTimeProvider.getAsLong();
-            searchResponseFetcher.accept(ActionListener.wrap(resp -> {
+            // a fetcher that throws instead of failing its listener must still clear the pending lookup, or every later lookup of this
+            // key would wait on it forever
+            ActionListener.run(ActionListener.<SearchResponse>wrap(resp -> {
                 CacheValue cacheValue = toCacheValue(resp);
                 put(cacheKey, cacheValue);
-                List<Map<?, ?>> copy = deepCopy(cacheValue.hits, false);
+                // only remove the pending lookup once the value is in the cache, so that it can always be found in either of them
+                pendingLookups.remove(cacheKey, lookup);
                 long databaseQueryAndCachePutTime = relativeNanoTimeProvider.getAsLong() - retrieveStart;
                 missesTimeInNanos.addAndGet(cacheRequestTime + databaseQueryAndCachePutTime);
-                listener.onResponse(copy);
-            }, listener::onFailure));
+                lookup.onResponse(cacheValue);
+            }, e -> {
+                pendingLookups.remove(cacheKey, lookup);
+                lookup.onFailure(e);
+            }), searchResponseFetcher::accept);
         }
     }
 
@@ -141,6 +141,7 @@ final class EnrichProcessorFactory implements Processor.Factory, Consumer<Cluste
                 getEnrichIndexKey(project, indexAlias),
                 value,
                 maxMatches,
+                client.threadPool().getThreadContext(),
                 (searchResponseActionListener) -> originClient.execute(
                     EnrichCoordinatorProxyAction.INSTANCE,
                     reqSupplier.get(),
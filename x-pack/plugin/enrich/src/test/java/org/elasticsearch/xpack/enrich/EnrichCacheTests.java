@@ -6,8 +6,12 @@
  */
 package org.elasticsearch.xpack.enrich;
 
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
@@ -27,7 +31,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.elasticsearch.action.support.ActionTestUtils.assertNoFailureListener;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -35,6 +41,8 @@ import static org.hamcrest.Matchers.sameInstance;
 
 public class EnrichCacheTests extends ESTestCase {
 
+    private final ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+
     public void testCaching() {
         // Emulated search requests that an enrich processor could generate:
         // (two unique searches for two enrich policies)
@@ -118,7 +126,7 @@ public class EnrichCacheTests extends ESTestCase {
         {
             CountDownLatch queriedDatabaseLatch = new CountDownLatch(1);
             CountDownLatch notifiedOfResultLatch = new CountDownLatch(1);
-            enrichCache.computeIfAbsent("policy1-1", "1", 1, (searchResponseActionListener) -> {
+            enrichCache.computeIfAbsent("policy1-1", "1", 1, threadContext, (searchResponseActionListener) -> {
                 SearchResponse searchResponse = convertToSearchResponse(searchResponseMap);
                 searchResponseActionListener.onResponse(searchResponse);
                 searchResponse.decRef();
@@ -140,7 +148,7 @@ public class EnrichCacheTests extends ESTestCase {
 
         {
             CountDownLatch notifiedOfResultLatch = new CountDownLatch(1);
-            enrichCache.computeIfAbsent("policy1-1", "1", 1, (searchResponseActionListener) -> {
+            enrichCache.computeIfAbsent("policy1-1", "1", 1, threadContext, (searchResponseActionListener) -> {
                 fail("Expected no call to the database because item should have been in the cache");
             }, assertNoFailureListener(r -> notifiedOfResultLatch.countDown()));
             assertThat(notifiedOfResultLatch.await(5, TimeUnit.SECONDS), equalTo(true));
@@ -154,6 +162,128 @@ public class EnrichCacheTests extends ESTestCase {
         }
     }
 
+    public void testComputeIfAbsentWaitsForPendingLookup() {
+        final List<Map<String, ?>> searchResponseMap = List.of(Map.of("key1", "value1"));
+        EnrichCache enrichCache = new EnrichCache(3);
+
+        final List<ActionListener<SearchResponse>> lookups = new ArrayList<>();
+        final List<List<Map<?, ?>>> responses = new ArrayList<>();
+        final List<Exception> failures = new ArrayList<>();
+        final int numDocs = between(2, 10);
+        for (int i = 0; i < numDocs; i++) {
+            enrichCache.computeIfAbsent(
+                "policy1-1",
+                "1",
+                1,
+                threadContext,
+                lookups::add,
+                ActionListener.wrap(responses::add, failures::add)
+            );
+        }
+        // only the first document sends a lookup, the other ones wait for its response
+        assertThat(lookups, hasSize(1));
+        assertThat(responses, empty());
+
+        lookups.get(0).onFailure(new ElasticsearchException("boom"));
+        assertThat(responses, empty());
+        assertThat(failures, hasSize(numDocs));
+
+        // a failed lookup isn't cached, so the next document sends a new lookup
+        for (int i = 0; i < numDocs; i++) {
+            enrichCache.computeIfAbsent(
+                "policy1-1",
+                "1",
+                1,
+                threadContext,
+                lookups::add,
+                ActionListener.wrap(responses::add, failures::add)
+            );
+        }
+        assertThat(lookups, hasSize(2));
+        SearchResponse searchResponse = convertToSearchResponse(searchResponseMap);
+        try {
+            lookups.get(1).onResponse(searchResponse);
+        } finally {
+            searchResponse.decRef();
+        }
+        assertThat(responses, hasSize(numDocs));
+        for (int i = 0; i < numDocs; i++) {
+            assertThat(responses.get(i), equalTo(searchResponseMap));
+            if (i > 0) {
+                // every document gets its own copy since processors may modify it
+                assertThat(responses.get(i), not(sameInstance(responses.get(0))));
+            }
+        }
+        assertThat(failures, hasSize(numDocs));
+
+        // the value is now cached
+        enrichCache.computeIfAbsent("policy1-1", "1", 1, threadContext, lookups::add, ActionListener.wrap(responses::add, failures::add));
+        assertThat(lookups, hasSize(2));
+        assertThat(responses, hasSize(numDocs + 1));
+    }
+
+    public void testComputeIfAbsentWithThrowingFetcher() {
+        final List<Map<String, ?>> searchResponseMap = List.of(Map.of("key1", "value1"));
+        EnrichCache enrichCache = new EnrichCache(3);
+
+        final List<List<Map<?, ?>>> responses = new ArrayList<>();
+        final List<Exception> failures = new ArrayList<>();
+        enrichCache.computeIfAbsent("policy1-1", "1", 1, threadContext, searchResponseActionListener -> {
+            throw new ElasticsearchException("boom");
+        }, ActionListener.wrap(responses::add, failures::add));
+        assertThat(responses, empty());
+        assertThat(failures, hasSize(1));
+        assertThat(failures.get(0).getMessage(), equalTo("boom"));
+
+        // the failed lookup isn't pending anymore, so the next document sends a new lookup instead of waiting forever
+        final List<ActionListener<SearchResponse>> lookups = new ArrayList<>();
+        enrichCache.computeIfAbsent("policy1-1", "1", 1, threadContext, lookups::add, ActionListener.wrap(responses::add, failures::add));
+        assertThat(lookups, hasSize(1));
+        SearchResponse searchResponse = convertToSearchResponse(searchResponseMap);
+        try {
+            lookups.get(0).onResponse(searchResponse);
+        } finally {
+            searchResponse.decRef();
+        }
+        assertThat(responses, equalTo(List.of(searchResponseMap)));
+        assertThat(failures, hasSize(1));
+    }
+
+    public void testPendingLookupNotifiesEachCallerInItsOwnThreadContext() {
+        final List<Map<String, ?>> searchResponseMap = List.of(Map.of("key1", "value1"));
+        EnrichCache enrichCache = new EnrichCache(3);
+
+        final List<ActionListener<SearchResponse>> lookups = new ArrayList<>();
+        final Map<String, String> notifiedHeaders = new HashMap<>();
+        for (String caller : List.of("first", "second")) {
+            try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                threadContext.putHeader("caller", caller);
+                enrichCache.computeIfAbsent(
+                    "policy1-1",
+                    "1",
+                    1,
+                    threadContext,
+                    lookups::add,
+                    assertNoFailureListener(response -> notifiedHeaders.put(caller, threadContext.getHeader("caller")))
+                );
+            }
+        }
+        // both callers collapse onto the lookup of the first one
+        assertThat(lookups, hasSize(1));
+        assertThat(notifiedHeaders.isEmpty(), equalTo(true));
+
+        // the lookup completes in yet another context, like the one of the thread that handles the search response
+        SearchResponse searchResponse = convertToSearchResponse(searchResponseMap);
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            threadContext.putHeader("caller", "responder");
+            lookups.get(0).onResponse(searchResponse);
+            assertThat(threadContext.getHeader("caller"), equalTo("responder"));
+        } finally {
+            searchResponse.decRef();
+        }
+        assertThat(notifiedHeaders, equalTo(Map.of("first", "first", "second", "second")));
+    }
+
     private SearchResponse convertToSearchResponse(List<Map<String, ?>> searchResponseList) {
         SearchHit[] hitArray = searchResponseList.stream().map(map -> {
             try {
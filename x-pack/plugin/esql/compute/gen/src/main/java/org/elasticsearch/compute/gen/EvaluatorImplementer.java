@@ -116,6 +116,9 @@ public class EvaluatorImplementer {
                 builder.addMethod(realEval(true));
             }
             builder.addMethod(realEval(false));
+            if (vectorizeWithFallback()) {
+                builder.addMethod(evalAfterFailure());
+            }
         }
         builder.addMethod(processFunction.toStringMethod(implementation));
         builder.addMethod(processFunction.close());
@@ -177,8 +180,11 @@ public class EvaluatorImplementer {
             ClassName type = processFunction.resultDataType(false);
             vectorize = type.simpleName().startsWith("BytesRef") == false;
         }
+        boolean vectorizeWithFallback = blockStyle == false && vectorizeWithFallback();
 
-        TypeName builderType = vectorize ? vectorFixedBuilderType(elementType(resultDataType)) : builderType(resultDataType);
+        TypeName builderType = vectorize || vectorizeWithFallback
+            ? vectorFixedBuilderType(elementType(resultDataType))
+            : builderType(resultDataType);
         builder.beginControlFlow(
             "try($T result = driverContext.blockFactory().$L(positionCount))",
             builderType,
@@ -193,7 +199,13 @@ public class EvaluatorImplementer {
 
             processFunction.args.stream().forEach(a -> a.createScratch(builder));
 
-            builder.beginControlFlow("position: for (int p = 0; p < positionCount; p++)");
+            if (vectorizeWithFallback) {
+                builder.addStatement("int p = 0");
+                builder.beginControlFlow("try");
+                builder.beginControlFlow("position: for (; p < positionCount; p++)");
+            } else {
+                builder.beginControlFlow("position: for (int p = 0; p < positionCount; p++)");
+            }
             {
                 if (blockStyle) {
                     if (processOutputsMultivalued == false) {
@@ -223,49 +235,133 @@ public class EvaluatorImplementer {
                 }
                 processFunction.args.stream().forEach(a -> a.unpackValues(builder, blockStyle));
 
-                StringBuilder pattern = new StringBuilder();
-                List<Object> args = new ArrayList<>();
-                pattern.append(processOutputsMultivalued ? "$T.$N(result, p, " : "$T.$N(");
-                args.add(declarationType);
-                args.add(processFunction.function.getSimpleName());
-                processFunction.args.stream().forEach(a -> {
-                    if (args.size() > 2) {
-                        pattern.append(", ");
-                    }
-                    a.buildInvocation(pattern, args, blockStyle);
-                });
-                pattern.append(")");
-                String builtPattern;
-                if (processFunction.builderArg == null) {
-                    builtPattern = vectorize ? "result.$L(p, " + pattern + ")" : "result.$L(" + pattern + ")";
-                    args.add(0, processFunction.appendMethod());
-                } else {
-                    builtPattern = pattern.toString();
-                }
-                if (processFunction.warnExceptions.isEmpty() == false) {
+                if (processFunction.warnExceptions.isEmpty() == false && vectorizeWithFallback == false) {
                     builder.beginControlFlow("try");
                 }
 
-                builder.addStatement(builtPattern, args.toArray());
+                addProcessStatement(builder, blockStyle, vectorize || vectorizeWithFallback);
 
-                if (processFunction.warnExceptions.isEmpty() == false) {
-                    String catchPattern = "catch ("
-                        + processFunction.warnExceptions.stream().map(m -> "$T").collect(Collectors.joining(" | "))
-                        + " e)";
-                    builder.nextControlFlow(catchPattern, processFunction.warnExceptions.stream().map(m -> TypeName.get(m)).toArray());
+                if (processFunction.warnExceptions.isEmpty() == false && vectorizeWithFallback == false) {
+                    builder.nextControlFlow(warnExceptionsCatchPattern(), warnExceptionTypes());
                     builder.addStatement("warnings().registerException(e)");
                     builder.addStatement("result.appendNull()");
                     builder.endControlFlow();
                 }
             }
             builder.endControlFlow();
-            builder.addStatement("return result.build()");
+            if (vectorizeWithFallback) {
+                builder.nextControlFlow(warnExceptionsCatchPattern(), warnExceptionTypes());
+                builder.addStatement("warnings().registerException(e)");
+                builder.beginControlFlow("try ($T prefix = result.build())", vectorType(elementType(resultDataType)));
+                builder.addStatement("return evalAfterFailure(positionCount, p, prefix, " + vectorParams() + ")");
+                builder.endControlFlow();
+                builder.endControlFlow();
+                builder.addStatement("return result.build().asBlock()");
+            } else {
+                builder.addStatement("return result.build()");
+            }
         }
         builder.endControlFlow();
 
         return builder.build();
     }
 
+    /**
+     * Functions that warn on some exceptions have to build a block because they
+     * turn those exceptions into nulls. But those exceptions are rare, so when all
+     * inputs are vectors we optimistically fill a fixed size vector. If anything
+     * throws we keep the positions that were already filled and finish the page
+     * with {@link #evalAfterFailure}, which produces the nulls and the warnings.
+     */
+    private boolean vectorizeWithFallback() {
+        return processFunction.warnExceptions.isEmpty() == false
+            && processOutputsMultivalued == false
+            && processFunction.builderArg == null
+            && processFunction.resultDataType(false).simpleName().startsWith("BytesRef") == false
+            && processFunction.args.stream().allMatch(a -> a instanceof StandardProcessFunctionArg || a instanceof FixedProcessFunctionArg)
+            && processFunction.args.stream().anyMatch(a -> a instanceof StandardProcessFunctionArg);
+    }
+
+    /**
+     * Finishes a page of vectors after the position {@code failed} threw one of the
+     * warned exceptions. The positions before it are copied from the vector that was
+     * being filled, {@code failed} itself is null and its warning was already registered.
+     */
+    private MethodSpec evalAfterFailure() {
+        ClassName resultDataType = processFunction.resultDataType(true);
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("evalAfterFailure");
+        builder.addModifiers(Modifier.PRIVATE).returns(resultDataType);
+        builder.addParameter(TypeName.INT, "positionCount");
+        builder.addParameter(TypeName.INT, "failed");
+        builder.addParameter(vectorType(elementType(resultDataType)), "prefix");
+        processFunction.args.stream().forEach(a -> {
+            if (a.paramName(false) != null) {
+                builder.addParameter(a.dataType(false), a.paramName(false));
+            }
+        });
+
+        TypeName builderType = builderType(resultDataType);
+        builder.beginControlFlow(
+            "try($T result = driverContext.blockFactory().$L(positionCount))",
+            builderType,
+            buildFromFactory(builderType)
+        );
+        {
+            processFunction.args.stream().forEach(a -> a.createScratch(builder));
+            builder.addStatement("result.copyFrom(prefix.asBlock(), 0, failed)");
+            builder.addStatement("result.appendNull()");
+            builder.beginControlFlow("position: for (int p = failed + 1; p < positionCount; p++)");
+            {
+                processFunction.args.stream().forEach(a -> a.unpackValues(builder, false));
+                builder.beginControlFlow("try");
+                addProcessStatement(builder, false, false);
+                builder.nextControlFlow(warnExceptionsCatchPattern(), warnExceptionTypes());
+                builder.addStatement("warnings().registerException(e)");
+                builder.addStatement("result.appendNull()");
+                builder.endControlFlow();
+            }
+            builder.endControlFlow();
+            builder.addStatement("return result.build()");
+        }
+        builder.endControlFlow();
+        return builder.build();
+    }
+
+    private void addProcessStatement(MethodSpec.Builder builder, boolean blockStyle, boolean positional) {
+        StringBuilder pattern = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        pattern.append(processOutputsMultivalued ? "$T.$N(result, p, " : "$T.$N(");
+        args.add(declarationType);
+        args.add(processFunction.function.getSimpleName());
+        processFunction.args.stream().forEach(a -> {
+            if (args.size() > 2) {
+                pattern.append(", ");
+            }
+            a.buildInvocation(pattern, args, blockStyle);
+        });
+        pattern.append(")");
+        String builtPattern;
+        if (processFunction.builderArg == null) {
+            builtPattern = positional ? "result.$L(p, " + pattern + ")" : "result.$L(" + pattern + ")";
+            args.add(0, processFunction.appendMethod());
+        } else {
+            builtPattern = pattern.toString();
+        }
+        builder.addStatement(builtPattern, args.toArray());
+    }
+
+    private String warnExceptionsCatchPattern() {
+        return "catch (" + processFunction.warnExceptions.stream().map(m -> "$T").collect(Collectors.joining(" | ")) + " e)";
+    }
+
+    private Object[] warnExceptionTypes() {
+        return processFunction.warnExceptions.stream().map(m -> TypeName.get(m)).toArray();
+    }
+
+    private String vectorParams() {
+        return processFunction.args.stream().map(a -> a.paramName(false)).filter(a -> a != null).collect(Collectors.joining(", "));
+    }
+
     private static void skipNull(MethodSpec.Builder builder, String value) {
         builder.beginControlFlow("if ($N.isNull(p))", value);
         {
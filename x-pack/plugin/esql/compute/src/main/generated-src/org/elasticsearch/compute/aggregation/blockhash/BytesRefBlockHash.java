@@ -210,14 +210,26 @@ final class BytesRefBlockHash extends BlockHash {
         }
     }
 
+    @Override
+    public long numKeys() {
+        return size() + (seenNull ? 1 : 0);
+    }
+
     @Override
     public IntVector nonEmpty() {
-        return IntVector.range(seenNull ? 0 : 1, Math.toIntExact(hash.size() + 1), blockFactory);
+        return IntVector.range(seenNull ? 0 : 1, Math.toIntExact(size() + 1), blockFactory);
     }
 
     @Override
     public BitArray seenGroupIds(BigArrays bigArrays) {
-        return new SeenGroupIds.Range(seenNull ? 0 : 1, Math.toIntExact(hash.size() + 1)).seenGroupIds(bigArrays);
+        return new SeenGroupIds.Range(seenNull ? 0 : 1, Math.toIntExact(size() + 1)).seenGroupIds(bigArrays);
+    }
+
+    /**
+     * The number of non-{@code null} keys.
+     */
+    private long size() {
+        return hash.size();
     }
 
     @Override
@@ -229,7 +241,7 @@ final class BytesRefBlockHash extends BlockHash {
     public String toString() {
         StringBuilder b = new StringBuilder();
         b.append("BytesRefBlockHash{channel=").append(channel);
-        b.append(", entries=").append(hash.size());
+        b.append(", entries=").append(size());
         b.append(", size=").append(ByteSizeValue.ofBytes(hash.ramBytesUsed()));
         b.append(", seenNull=").append(seenNull);
         return b.append('}').toString();
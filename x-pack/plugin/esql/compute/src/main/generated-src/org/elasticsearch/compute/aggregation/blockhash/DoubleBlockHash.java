@@ -147,14 +147,26 @@ final class DoubleBlockHash extends BlockHash {
         return new DoubleBlock[] { blockFactory.newDoubleArrayVector(keys, keys.length).asBlock() };
     }
 
+    @Override
+    public long numKeys() {
+        return size() + (seenNull ? 1 : 0);
+    }
+
     @Override
     public IntVector nonEmpty() {
-        return IntVector.range(seenNull ? 0 : 1, Math.toIntExact(hash.size() + 1), blockFactory);
+        return IntVector.range(seenNull ? 0 : 1, Math.toIntExact(size() + 1), blockFactory);
     }
 
     @Override
     public BitArray seenGroupIds(BigArrays bigArrays) {
-        return new SeenGroupIds.Range(seenNull ? 0 : 1, Math.toIntExact(hash.size() + 1)).seenGroupIds(bigArrays);
+        return new SeenGroupIds.Range(seenNull ? 0 : 1, Math.toIntExact(size() + 1)).seenGroupIds(bigArrays);
+    }
+
+    /**
+     * The number of non-{@code null} keys.
+     */
+    private long size() {
+        return hash.size();
     }
 
     @Override
@@ -166,7 +178,7 @@ final class DoubleBlockHash extends BlockHash {
     public String toString() {
         StringBuilder b = new StringBuilder();
         b.append("DoubleBlockHash{channel=").append(channel);
-        b.append(", entries=").append(hash.size());
+        b.append(", entries=").append(size());
         b.append(", seenNull=").append(seenNull);
         return b.append('}').toString();
     }
@@ -10,6 +10,7 @@ package org.elasticsearch.compute.aggregation.blockhash;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.BitArray;
+import org.elasticsearch.common.util.IntArray;
 import org.elasticsearch.common.util.LongHash;
 import org.elasticsearch.compute.aggregation.GroupingAggregatorFunction;
 import org.elasticsearch.compute.aggregation.SeenGroupIds;
@@ -21,6 +22,7 @@ import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.mvdedupe.MultivalueDedupe;
 import org.elasticsearch.compute.operator.mvdedupe.MultivalueDedupeInt;
 import org.elasticsearch.core.ReleasableIterator;
+import org.elasticsearch.core.Releasables;
 
 import java.util.BitSet;
 
@@ -29,9 +31,32 @@ import java.util.BitSet;
  * This class is generated. Edit {@code X-BlockHash.java.st} instead.
  */
 final class IntBlockHash extends BlockHash {
+    /**
+     * Keys in {@code [0, DIRECT_MAX)} are mapped to their ids with an array lookup
+     * rather than a hash lookup until we see a key outside that range.
+     */
+    static final int DIRECT_MAX = 1024;
+
     private final int channel;
     final LongHash hash;
 
+    /**
+     * Maps each key in {@code [0, DIRECT_MAX)} to its group id, with {@code 0}
+     * meaning we haven't seen the key yet. Plenty of {@code STATS ... BY} keys
+     * are small, low cardinality integers like status codes or day of week and
+     * an array lookup is a lot cheaper than hashing them. The group ids are
+     * assigned in the same order {@link #hash} would assign them, so when we
+     * see a key outside that range we {@link #migrateToHash move} the keys
+     * into {@link #hash} without changing any group ids and set this to
+     * {@code null}.
+     */
+    private IntArray directIds;
+
+    /**
+     * The number of keys in {@link #directIds}.
+     */
+    private int directSize;
+
     /**
      * Have we seen any {@code null} values?
      * <p>
@@ -45,6 +70,15 @@ final class IntBlockHash extends BlockHash {
         super(blockFactory);
         this.channel = channel;
         this.hash = new LongHash(1, blockFactory.bigArrays());
+        boolean success = false;
+        try {
+            this.directIds = blockFactory.bigArrays().newIntArray(DIRECT_MAX, true);
+            success = true;
+        } finally {
+            if (success == false) {
+                hash.close();
+            }
+        }
     }
 
     @Override
@@ -72,6 +106,12 @@ final class IntBlockHash extends BlockHash {
     }
 
     IntVector add(IntVector vector) {
+        if (directIds != null) {
+            IntVector ids = addDirect(vector);
+            if (ids != null) {
+                return ids;
+            }
+        }
         int positions = vector.getPositionCount();
         try (var builder = blockFactory.newIntVectorFixedBuilder(positions)) {
             for (int i = 0; i < positions; i++) {
@@ -83,13 +123,65 @@ final class IntBlockHash extends BlockHash {
     }
 
     IntBlock add(IntBlock block) {
+        migrateToHash();
         MultivalueDedupe.HashResult result = new MultivalueDedupeInt(block).hashAdd(blockFactory, hash);
         seenNull |= result.sawNull();
         return result.ords();
     }
 
+    /**
+     * Add a vector of keys using {@link #directIds}, returning {@code null} if
+     * we see a key outside of {@code [0, DIRECT_MAX)}. In that case we've moved
+     * all keys into {@link #hash} and the caller should add the vector to it.
+     * Keys we added before bailing out are in the hash with the same ids so
+     * adding them again is harmless.
+     */
+    private IntVector addDirect(IntVector vector) {
+        int positions = vector.getPositionCount();
+        try (var builder = blockFactory.newIntVectorFixedBuilder(positions)) {
+            for (int i = 0; i < positions; i++) {
+                int v = vector.getInt(i);
+                if (v < 0 || v >= DIRECT_MAX) {
+                    migrateToHash();
+                    return null;
+                }
+                int id = directIds.get(v);
+                if (id == 0) {
+                    // 0 is reserved for null just like hashOrdToGroupNullReserved
+                    id = ++directSize;
+                    directIds.set(v, id);
+                }
+                builder.appendInt(id);
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Move all keys from {@link #directIds} into {@link #hash}. Adds them in
+     * id order so the hash assigns them the same ids.
+     */
+    private void migrateToHash() {
+        if (directIds == null) {
+            return;
+        }
+        long[] keys = new long[directSize];
+        for (int v = 0; v < DIRECT_MAX; v++) {
+            int id = directIds.get(v);
+            if (id != 0) {
+                keys[id - 1] = v;
+            }
+        }
+        for (long key : keys) {
+            hash.add(key);
+        }
+        directIds.close();
+        directIds = null;
+    }
+
     @Override
     public ReleasableIterator<IntBlock> lookup(Page page, ByteSizeValue targetBlockSize) {
+        migrateToHash();
         var block = page.getBlock(channel);
         if (block.areAllValuesNull()) {
             return ReleasableIterator.single(blockFactory.newConstantIntVector(0, block.getPositionCount()).asBlock());
@@ -126,6 +218,7 @@ final class IntBlockHash extends BlockHash {
 
     @Override
     public IntBlock[] getKeys() {
+        migrateToHash();
         if (seenNull) {
             final int size = Math.toIntExact(hash.size() + 1);
             final int[] keys = new int[size];
@@ -145,26 +238,38 @@ final class IntBlockHash extends BlockHash {
         return new IntBlock[] { blockFactory.newIntArrayVector(keys, keys.length).asBlock() };
     }
 
+    @Override
+    public long numKeys() {
+        return size() + (seenNull ? 1 : 0);
+    }
+
     @Override
     public IntVector nonEmpty() {
-        return IntVector.range(seenNull ? 0 : 1, Math.toIntExact(hash.size() + 1), blockFactory);
+        return IntVector.range(seenNull ? 0 : 1, Math.toIntExact(size() + 1), blockFactory);
     }
 
     @Override
     public BitArray seenGroupIds(BigArrays bigArrays) {
-        return new SeenGroupIds.Range(seenNull ? 0 : 1, Math.toIntExact(hash.size() + 1)).seenGroupIds(bigArrays);
+        return new SeenGroupIds.Range(seenNull ? 0 : 1, Math.toIntExact(size() + 1)).seenGroupIds(bigArrays);
+    }
+
+    /**
+     * The number of non-{@code null} keys.
+     */
+    private long size() {
+        return directIds == null ? hash.size() : directSize;
     }
 
     @Override
     public void close() {
-        hash.close();
+        Releasables.close(hash, directIds);
     }
 
     @Override
     public String toString() {
         StringBuilder b = new StringBuilder();
         b.append("IntBlockHash{channel=").append(channel);
-        b.append(", entries=").append(hash.size());
+        b.append(", entries=").append(size());
         b.append(", seenNull=").append(seenNull);
         return b.append('}').toString();
     }
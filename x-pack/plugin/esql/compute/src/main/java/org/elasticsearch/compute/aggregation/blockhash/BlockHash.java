@@ -97,6 +97,13 @@ public abstract class BlockHash implements Releasable, SeenGroupIds {
      */
     public abstract Block[] getKeys();
 
+    /**
+     * The number of distinct keys added to this hash so far. This is the
+     * number of positions {@link #getKeys()} would return right now and it
+     * should be cheap to call after every page.
+     */
+    public abstract long numKeys();
+
     /**
      * The grouping ids that are not empty. We use this because some block hashes reserve
      * space for grouping ids and then don't end up using them. For example,
@@ -125,6 +125,17 @@ final class BooleanBlockHash extends BlockHash {
         }
     }
 
+    @Override
+    public long numKeys() {
+        int count = 0;
+        for (boolean seen : everSeen) {
+            if (seen) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     public IntVector nonEmpty() {
         try (IntVector.Builder builder = blockFactory.newIntVectorBuilder(everSeen.length)) {
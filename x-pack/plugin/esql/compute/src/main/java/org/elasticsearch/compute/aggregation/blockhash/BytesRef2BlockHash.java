@@ -178,6 +178,11 @@ final class BytesRef2BlockHash extends BlockHash {
         return new Range(0, Math.toIntExact(finalHash.size())).seenGroupIds(bigArrays);
     }
 
+    @Override
+    public long numKeys() {
+        return finalHash.size();
+    }
+
     @Override
     public IntVector nonEmpty() {
         return IntVector.range(0, Math.toIntExact(finalHash.size()), blockFactory);
@@ -148,6 +148,11 @@ public class CategorizePackedValuesBlockHash extends BlockHash {
         return keys;
     }
 
+    @Override
+    public long numKeys() {
+        return packedValuesBlockHash.numKeys();
+    }
+
     @Override
     public IntVector nonEmpty() {
         return packedValuesBlockHash.nonEmpty();
@@ -101,6 +101,11 @@ final class LongLongBlockHash extends BlockHash {
         return new Block[] { k1.asBlock(), k2.asBlock() };
     }
 
+    @Override
+    public long numKeys() {
+        return hash.size();
+    }
+
     @Override
     public IntVector nonEmpty() {
         return IntVector.range(0, Math.toIntExact(hash.size()), blockFactory);
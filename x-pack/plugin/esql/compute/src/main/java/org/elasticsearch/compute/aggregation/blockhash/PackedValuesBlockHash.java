@@ -401,6 +401,11 @@ final class PackedValuesBlockHash extends BlockHash {
         }
     }
 
+    @Override
+    public long numKeys() {
+        return bytesRefHash.size();
+    }
+
     @Override
     public IntVector nonEmpty() {
         return IntVector.range(0, Math.toIntExact(bytesRefHash.size()), blockFactory);
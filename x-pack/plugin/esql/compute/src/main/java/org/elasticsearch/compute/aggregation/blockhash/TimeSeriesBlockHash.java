@@ -206,6 +206,11 @@ public final class TimeSeriesBlockHash extends BlockHash {
         return timestampArray.count;
     }
 
+    @Override
+    public long numKeys() {
+        return positionCount();
+    }
+
     @Override
     public IntVector nonEmpty() {
         long endExclusive = positionCount();
@@ -46,8 +46,19 @@ public class HashAggregationOperator implements Operator {
         AggregatorMode aggregatorMode,
         List<GroupingAggregator.Factory> aggregators,
         int maxPageSize,
+        int partialEmitKeysThreshold,
         AnalysisRegistry analysisRegistry
     ) implements OperatorFactory {
+        public HashAggregationOperatorFactory(
+            List<BlockHash.GroupSpec> groups,
+            AggregatorMode aggregatorMode,
+            List<GroupingAggregator.Factory> aggregators,
+            int maxPageSize,
+            AnalysisRegistry analysisRegistry
+        ) {
+            this(groups, aggregatorMode, aggregators, maxPageSize, Integer.MAX_VALUE, analysisRegistry);
+        }
+
         @Override
         public Operator get(DriverContext driverContext) {
             if (groups.stream().anyMatch(BlockHash.GroupSpec::isCategorize)) {
@@ -63,9 +74,15 @@ public class HashAggregationOperator implements Operator {
                     driverContext
                 );
             }
+            /*
+             * Only modes that produce intermediate output can flush early. Whoever
+             * consumes that output already merges the states for the same key coming
+             * from many drivers so it'll happily merge the states from many flushes.
+             */
             return new HashAggregationOperator(
                 aggregators,
                 () -> BlockHash.build(groups, driverContext.blockFactory(), maxPageSize, false),
+                aggregatorMode.isOutputPartial() ? partialEmitKeysThreshold : Integer.MAX_VALUE,
                 driverContext
             );
         }
@@ -83,10 +100,20 @@ public class HashAggregationOperator implements Operator {
     private boolean finished;
     private Page output;
 
-    private final BlockHash blockHash;
+    private final Supplier<BlockHash> blockHashSupplier;
+    private BlockHash blockHash;
 
+    private final List<GroupingAggregator.Factory> aggregatorFactories;
     private final List<GroupingAggregator> aggregators;
 
+    /**
+     * Once the hash contains this many keys we emit the intermediate state
+     * we've built so far and start again with an empty hash. This bounds the
+     * memory used by this operator at the cost of emitting the same key many
+     * times. {@link Integer#MAX_VALUE} disables this.
+     */
+    private final int partialEmitKeysThreshold;
+
     protected final DriverContext driverContext;
 
     /**
@@ -115,20 +142,39 @@ public class HashAggregationOperator implements Operator {
      */
     protected long emitNanos;
 
+    public HashAggregationOperator(
+        List<GroupingAggregator.Factory> aggregators,
+        Supplier<BlockHash> blockHash,
+        DriverContext driverContext
+    ) {
+        this(aggregators, blockHash, Integer.MAX_VALUE, driverContext);
+    }
+
+    /**
+     * Build.
+     * @param partialEmitKeysThreshold emit the intermediate state and reset the hash once it
+     *                                 contains this many keys. Only valid if the aggregators
+     *                                 produce intermediate output. {@link Integer#MAX_VALUE}
+     *                                 disables it.
+     */
     @SuppressWarnings("this-escape")
     public HashAggregationOperator(
         List<GroupingAggregator.Factory> aggregators,
         Supplier<BlockHash> blockHash,
+        int partialEmitKeysThreshold,
         DriverContext driverContext
     ) {
+        if (partialEmitKeysThreshold <= 0) {
+            throw new IllegalArgumentException("partialEmitKeysThreshold must be > 0 but was [" + partialEmitKeysThreshold + "]");
+        }
+        this.aggregatorFactories = aggregators;
         this.aggregators = new ArrayList<>(aggregators.size());
+        this.blockHashSupplier = blockHash;
+        this.partialEmitKeysThreshold = partialEmitKeysThreshold;
         this.driverContext = driverContext;
         boolean success = false;
         try {
-            this.blockHash = blockHash.get();
-            for (GroupingAggregator.Factory a : aggregators) {
-                this.aggregators.add(a.apply(driverContext));
-            }
+            initState();
             success = true;
         } finally {
             if (success == false) {
@@ -137,9 +183,16 @@ public class HashAggregationOperator implements Operator {
         }
     }
 
+    private void initState() {
+        this.blockHash = blockHashSupplier.get();
+        for (GroupingAggregator.Factory a : aggregatorFactories) {
+            this.aggregators.add(a.apply(driverContext));
+        }
+    }
+
     @Override
     public boolean needsInput() {
-        return finished == false;
+        return finished == false && output == null;
     }
 
     @Override
@@ -203,6 +256,9 @@ public class HashAggregationOperator implements Operator {
                 blockHash.add(wrapPage(page), add);
                 hashNanos += System.nanoTime() - add.hashStart;
             }
+            if (blockHash.numKeys() >= partialEmitKeysThreshold) {
+                emitPartial();
+            }
         } finally {
             page.releaseBlocks();
             pagesProcessed++;
@@ -226,6 +282,27 @@ public class HashAggregationOperator implements Operator {
             return;
         }
         finished = true;
+        if (output != null) {
+            // We just emitted a partial result and can't have received any input since
+            assert blockHash.numKeys() == 0 : "pending output with [" + blockHash.numKeys() + "] keys left in the hash";
+            return;
+        }
+        emit();
+    }
+
+    /**
+     * Emit the intermediate state built so far and replace the hash and
+     * the aggregators with empty ones.
+     */
+    private void emitPartial() {
+        emit();
+        Releasables.close(blockHash, () -> Releasables.close(aggregators));
+        blockHash = null;
+        aggregators.clear();
+        initState();
+    }
+
+    private void emit() {
         Block[] blocks = null;
         IntVector selected = null;
         long startInNanos = System.nanoTime();
@@ -90,6 +90,23 @@ public class BlockHashTests extends BlockHashTestCase {
         }, blockFactory.newIntArrayVector(values, values.length).asBlock());
     }
 
+    public void testIntHashLargeKey() {
+        // 5000 is too big to look up directly so we move all keys into the hash midway through the vector
+        int[] values = new int[] { 1, 2, 1, 5000, 2, 3 };
+        hash(ordsAndKeys -> {
+            if (forcePackedHash) {
+                assertThat(ordsAndKeys.description, startsWith("PackedValuesBlockHash{groups=[0:INT], entries=4, size="));
+                assertOrds(ordsAndKeys.ords, 0, 1, 0, 2, 1, 3);
+                assertThat(ordsAndKeys.nonEmpty, equalTo(intRange(0, 4)));
+            } else {
+                assertThat(ordsAndKeys.description, equalTo("IntBlockHash{channel=0, entries=4, seenNull=false}"));
+                assertOrds(ordsAndKeys.ords, 1, 2, 1, 3, 2, 4);
+                assertThat(ordsAndKeys.nonEmpty, equalTo(intRange(1, 5)));
+            }
+            assertKeys(ordsAndKeys.keys, 1, 2, 5000, 3);
+        }, blockFactory.newIntArrayVector(values, values.length).asBlock());
+    }
+
     public void testIntHashWithNulls() {
         try (IntBlock.Builder builder = blockFactory.newIntBlockBuilder(4)) {
             builder.appendInt(0);
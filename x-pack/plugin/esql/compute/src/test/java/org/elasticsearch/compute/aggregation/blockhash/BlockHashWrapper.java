@@ -47,6 +47,11 @@ public abstract class BlockHashWrapper extends BlockHash {
         return blockHash.getKeys();
     }
 
+    @Override
+    public long numKeys() {
+        return blockHash.numKeys();
+    }
+
     @Override
     public IntVector nonEmpty() {
         return blockHash.nonEmpty();
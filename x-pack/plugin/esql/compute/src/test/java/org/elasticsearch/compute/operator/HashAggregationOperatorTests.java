@@ -20,10 +20,18 @@ import org.elasticsearch.compute.data.BlockFactory;
 import org.elasticsearch.compute.data.ElementType;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.test.BlockTestUtils;
+import org.elasticsearch.compute.test.CannedSourceOperator;
+import org.elasticsearch.compute.test.TestBlockFactory;
+import org.elasticsearch.compute.test.TestDriverFactory;
+import org.elasticsearch.compute.test.TestResultPageSinkOperator;
 import org.elasticsearch.core.Tuple;
 import org.hamcrest.Matcher;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.LongStream;
 
 import static java.util.stream.IntStream.range;
@@ -60,6 +68,7 @@ public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
                 new MaxLongAggregatorFunctionSupplier().groupingAggregatorFactory(mode, maxChannels)
             ),
             randomPageSize(),
+            randomBoolean() ? between(1, 5) : Integer.MAX_VALUE,
             null
         );
     }
@@ -96,4 +105,70 @@ public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
             max.assertSimpleGroup(input, maxs, i, group);
         }
     }
+
+    public void testPartialEmit() {
+        DriverContext driverContext = driverContext();
+        List<Page> input = CannedSourceOperator.collectPages(simpleInput(driverContext.blockFactory(), between(1_000, 10_000)));
+        List<Page> origInput = BlockTestUtils.deepCopyOf(input, TestBlockFactory.getNonBreakingInstance());
+        int sumChannelCount = SumLongAggregatorFunction.intermediateStateDesc().size();
+        int maxChannelCount = MaxLongAggregatorFunction.intermediateStateDesc().size();
+        List<Integer> sumChannels = range(1, 1 + sumChannelCount).boxed().toList();
+        List<Integer> maxChannels = range(1 + sumChannelCount, 1 + sumChannelCount + maxChannelCount).boxed().toList();
+        Operator initial = new HashAggregationOperator.HashAggregationOperatorFactory(
+            List.of(new BlockHash.GroupSpec(0, ElementType.LONG)),
+            AggregatorMode.INITIAL,
+            List.of(
+                new SumLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.INITIAL, List.of(1)),
+                new MaxLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.INITIAL, List.of(1))
+            ),
+            randomPageSize(),
+            2,
+            null
+        ).get(driverContext);
+        Operator fin = new HashAggregationOperator.HashAggregationOperatorFactory(
+            List.of(new BlockHash.GroupSpec(0, ElementType.LONG)),
+            AggregatorMode.FINAL,
+            List.of(
+                new SumLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.FINAL, sumChannels),
+                new MaxLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.FINAL, maxChannels)
+            ),
+            randomPageSize(),
+            2,
+            null
+        ).get(driverContext);
+        List<Page> results = new ArrayList<>();
+        try (
+            Driver d = TestDriverFactory.create(
+                driverContext,
+                new CannedSourceOperator(input.iterator()),
+                List.of(initial, fin),
+                new TestResultPageSinkOperator(results::add)
+            )
+        ) {
+            runDriver(d);
+            assertThat(((HashAggregationOperator.Status) initial.status()).rowsEmitted(), equalTo(expectedPartialRows(origInput, 2)));
+        }
+        assertSimpleOutput(origInput, results);
+        assertDriverContext(driverContext);
+    }
+
+    /**
+     * The number of rows an {@link AggregatorMode#INITIAL} aggregation emits if it
+     * emits and resets every time it has seen {@code threshold} keys.
+     */
+    private static long expectedPartialRows(List<Page> input, int threshold) {
+        long rows = 0;
+        Set<Long> keys = new HashSet<>();
+        for (Page page : input) {
+            LongBlock groups = page.getBlock(0);
+            for (int p = 0; p < groups.getPositionCount(); p++) {
+                keys.add(groups.getLong(groups.getFirstValueIndex(p)));
+            }
+            if (keys.size() >= threshold) {
+                rows += keys.size();
+                keys.clear();
+            }
+        }
+        return rows + keys.size();
+    }
 }
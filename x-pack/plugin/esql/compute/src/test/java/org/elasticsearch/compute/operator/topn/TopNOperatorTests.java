@@ -1447,6 +1447,38 @@ public class TopNOperatorTests extends OperatorTestCase {
         }
     }
 
+    public void testOutputReleasesRowsPageByPage() {
+        CircuitBreaker breaker = new MockBigArrays.LimitedBreaker(CircuitBreaker.REQUEST, ByteSizeValue.ofGb(1));
+        int maxPageSize = between(1, 100);
+        int topCount = maxPageSize * between(2, 10);
+        DriverContext context = driverContext();
+        try (
+            TopNOperator op = new TopNOperator(
+                context.blockFactory(),
+                breaker,
+                topCount,
+                List.of(LONG),
+                List.of(DEFAULT_UNSORTABLE),
+                List.of(new TopNOperator.SortOrder(0, randomBoolean(), randomBoolean())),
+                maxPageSize
+            )
+        ) {
+            for (Page p : CannedSourceOperator.collectPages(simpleInput(context.blockFactory(), topCount * 2))) {
+                op.addInput(p);
+            }
+            op.finish();
+            long used = breaker.getUsed();
+            while (op.isFinished() == false) {
+                Page page = op.getOutput();
+                page.releaseBlocks();
+                // The rows backing the page are released as soon as it's built
+                assertThat(breaker.getUsed(), lessThan(used));
+                used = breaker.getUsed();
+            }
+            assertThat(breaker.getUsed(), equalTo(0L));
+        }
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private static void readAsRows(List<List<List<Object>>> values, Page page) {
         if (page.getBlockCount() == 0) {
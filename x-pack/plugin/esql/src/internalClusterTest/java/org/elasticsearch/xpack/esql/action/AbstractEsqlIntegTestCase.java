@@ -236,6 +236,9 @@ public abstract class AbstractEsqlIntegTestCase extends ESIntegTestCase {
             if (randomBoolean()) {
                 settings.put("node_level_reduction", randomBoolean());
             }
+            if (randomBoolean()) {
+                settings.put("partial_aggregation_emit_keys_threshold", between(1, 100));
+            }
         }
         return new QueryPragmas(settings.build());
     }
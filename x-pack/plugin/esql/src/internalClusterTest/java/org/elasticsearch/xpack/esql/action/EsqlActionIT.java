@@ -85,6 +85,7 @@ import static java.util.Comparator.reverseOrder;
 import static org.elasticsearch.test.ListMatcher.matchesList;
 import static org.elasticsearch.test.MapMatcher.assertMap;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertNoFailures;
 import static org.elasticsearch.xpack.esql.EsqlTestUtils.getValuesList;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.anyOf;
@@ -1932,6 +1933,50 @@ public class EsqlActionIT extends AbstractEsqlIntegTestCase {
         }
     }
 
+    public void testStatsWithPartialAggregationEmitKeysThreshold() {
+        assumeTrue("pragmas only enabled on snapshot builds", canUseQueryPragmas());
+        assertAcked(
+            client().admin()
+                .indices()
+                .prepareCreate("test-partial-emit")
+                .setSettings(indexSettings(between(1, 3), 0))
+                .setMapping("k", "type=keyword", "v", "type=long")
+        );
+        int numKeys = between(20, 200);
+        int numDocs = numKeys * between(1, 5);
+        Map<String, Long> expectedCounts = new HashMap<>();
+        Map<String, Long> expectedSums = new HashMap<>();
+        BulkRequestBuilder bulk = client().prepareBulk().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        for (int i = 0; i < numDocs; i++) {
+            String key = String.format(Locale.ROOT, "key-%03d", i % numKeys);
+            bulk.add(new IndexRequest("test-partial-emit").source("k", key, "v", i));
+            expectedCounts.merge(key, 1L, Long::sum);
+            expectedSums.merge(key, (long) i, Long::sum);
+        }
+        assertNoFailures(bulk.get());
+
+        // emit the partial results many times per driver, so the final aggregation has to merge the states of the same keys
+        Settings pragmas = Settings.builder()
+            .put(randomPragmas().getSettings())
+            .put(QueryPragmas.PARTIAL_AGGREGATION_EMIT_KEYS_THRESHOLD.getKey(), between(1, 10))
+            .build();
+        try (
+            EsqlQueryResponse results = run(
+                "FROM test-partial-emit | STATS c = COUNT(*), s = SUM(v) BY k | SORT k | LIMIT 1000",
+                new QueryPragmas(pragmas)
+            )
+        ) {
+            assertColumnNames(results.columns(), List.of("c", "s", "k"));
+            List<List<Object>> values = getValuesList(results);
+            assertThat(values, hasSize(numKeys));
+            for (List<Object> row : values) {
+                String key = (String) row.get(2);
+                assertThat(key, row.get(0), equalTo(expectedCounts.get(key)));
+                assertThat(key, row.get(1), equalTo(expectedSums.get(key)));
+            }
+        }
+    }
+
     private void clearPersistentSettings(Setting<?>... settings) {
         Settings.Builder clearedSettings = Settings.builder();
 
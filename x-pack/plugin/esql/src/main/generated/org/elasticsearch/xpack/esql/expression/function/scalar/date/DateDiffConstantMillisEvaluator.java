@@ -9,6 +9,7 @@ import java.lang.Override;
 import java.lang.String;
 import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.LongVector;
 import org.elasticsearch.compute.data.Page;
@@ -102,8 +103,28 @@ public final class DateDiffConstantMillisEvaluator implements EvalOperator.Expre
 
   public IntBlock eval(int positionCount, LongVector startTimestampVector,
       LongVector endTimestampVector) {
+    try(IntVector.FixedBuilder result = driverContext.blockFactory().newIntVectorFixedBuilder(positionCount)) {
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendInt(p, DateDiff.processMillis(this.datePartFieldUnit, startTimestampVector.getLong(p), endTimestampVector.getLong(p)));
+        }
+      } catch (IllegalArgumentException | InvalidArgumentException e) {
+        warnings().registerException(e);
+        try (IntVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, startTimestampVector, endTimestampVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private IntBlock evalAfterFailure(int positionCount, int failed, IntVector prefix,
+      LongVector startTimestampVector, LongVector endTimestampVector) {
     try(IntBlock.Builder result = driverContext.blockFactory().newIntBlockBuilder(positionCount)) {
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendInt(DateDiff.processMillis(this.datePartFieldUnit, startTimestampVector.getLong(p), endTimestampVector.getLong(p)));
         } catch (IllegalArgumentException | InvalidArgumentException e) {
@@ -12,6 +12,7 @@ import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.BytesRefBlock;
 import org.elasticsearch.compute.data.BytesRefVector;
 import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.LongVector;
 import org.elasticsearch.compute.data.Page;
@@ -123,9 +124,30 @@ public final class DateDiffMillisEvaluator implements EvalOperator.ExpressionEva
 
   public IntBlock eval(int positionCount, BytesRefVector unitVector,
       LongVector startTimestampVector, LongVector endTimestampVector) {
+    try(IntVector.FixedBuilder result = driverContext.blockFactory().newIntVectorFixedBuilder(positionCount)) {
+      BytesRef unitScratch = new BytesRef();
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendInt(p, DateDiff.processMillis(unitVector.getBytesRef(p, unitScratch), startTimestampVector.getLong(p), endTimestampVector.getLong(p)));
+        }
+      } catch (IllegalArgumentException | InvalidArgumentException e) {
+        warnings().registerException(e);
+        try (IntVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, unitVector, startTimestampVector, endTimestampVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private IntBlock evalAfterFailure(int positionCount, int failed, IntVector prefix,
+      BytesRefVector unitVector, LongVector startTimestampVector, LongVector endTimestampVector) {
     try(IntBlock.Builder result = driverContext.blockFactory().newIntBlockBuilder(positionCount)) {
       BytesRef unitScratch = new BytesRef();
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendInt(DateDiff.processMillis(unitVector.getBytesRef(p, unitScratch), startTimestampVector.getLong(p), endTimestampVector.getLong(p)));
         } catch (IllegalArgumentException | InvalidArgumentException e) {
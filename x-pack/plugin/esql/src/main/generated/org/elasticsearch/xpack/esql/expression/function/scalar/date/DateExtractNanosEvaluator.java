@@ -103,9 +103,30 @@ public final class DateExtractNanosEvaluator implements EvalOperator.ExpressionE
 
   public LongBlock eval(int positionCount, LongVector valueVector,
       BytesRefVector chronoFieldVector) {
+    try(LongVector.FixedBuilder result = driverContext.blockFactory().newLongVectorFixedBuilder(positionCount)) {
+      BytesRef chronoFieldScratch = new BytesRef();
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendLong(p, DateExtract.processNanos(valueVector.getLong(p), chronoFieldVector.getBytesRef(p, chronoFieldScratch), this.zone));
+        }
+      } catch (IllegalArgumentException e) {
+        warnings().registerException(e);
+        try (LongVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, valueVector, chronoFieldVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private LongBlock evalAfterFailure(int positionCount, int failed, LongVector prefix,
+      LongVector valueVector, BytesRefVector chronoFieldVector) {
     try(LongBlock.Builder result = driverContext.blockFactory().newLongBlockBuilder(positionCount)) {
       BytesRef chronoFieldScratch = new BytesRef();
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendLong(DateExtract.processNanos(valueVector.getLong(p), chronoFieldVector.getBytesRef(p, chronoFieldScratch), this.zone));
         } catch (IllegalArgumentException e) {
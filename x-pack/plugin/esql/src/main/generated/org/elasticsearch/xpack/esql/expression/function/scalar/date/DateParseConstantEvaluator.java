@@ -13,6 +13,7 @@ import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.BytesRefBlock;
 import org.elasticsearch.compute.data.BytesRefVector;
 import org.elasticsearch.compute.data.LongBlock;
+import org.elasticsearch.compute.data.LongVector;
 import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.EvalOperator;
@@ -81,9 +82,30 @@ public final class DateParseConstantEvaluator implements EvalOperator.Expression
   }
 
   public LongBlock eval(int positionCount, BytesRefVector valVector) {
+    try(LongVector.FixedBuilder result = driverContext.blockFactory().newLongVectorFixedBuilder(positionCount)) {
+      BytesRef valScratch = new BytesRef();
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendLong(p, DateParse.process(valVector.getBytesRef(p, valScratch), this.formatter));
+        }
+      } catch (IllegalArgumentException e) {
+        warnings().registerException(e);
+        try (LongVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, valVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private LongBlock evalAfterFailure(int positionCount, int failed, LongVector prefix,
+      BytesRefVector valVector) {
     try(LongBlock.Builder result = driverContext.blockFactory().newLongBlockBuilder(positionCount)) {
       BytesRef valScratch = new BytesRef();
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendLong(DateParse.process(valVector.getBytesRef(p, valScratch), this.formatter));
         } catch (IllegalArgumentException e) {
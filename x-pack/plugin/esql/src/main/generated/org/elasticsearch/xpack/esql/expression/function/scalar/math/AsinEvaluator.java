@@ -75,8 +75,28 @@ public final class AsinEvaluator implements EvalOperator.ExpressionEvaluator {
   }
 
   public DoubleBlock eval(int positionCount, DoubleVector valVector) {
+    try(DoubleVector.FixedBuilder result = driverContext.blockFactory().newDoubleVectorFixedBuilder(positionCount)) {
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendDouble(p, Asin.process(valVector.getDouble(p)));
+        }
+      } catch (ArithmeticException e) {
+        warnings().registerException(e);
+        try (DoubleVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, valVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private DoubleBlock evalAfterFailure(int positionCount, int failed, DoubleVector prefix,
+      DoubleVector valVector) {
     try(DoubleBlock.Builder result = driverContext.blockFactory().newDoubleBlockBuilder(positionCount)) {
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendDouble(Asin.process(valVector.getDouble(p)));
         } catch (ArithmeticException e) {
@@ -10,6 +10,7 @@ import java.lang.Override;
 import java.lang.String;
 import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.DoubleBlock;
+import org.elasticsearch.compute.data.DoubleVector;
 import org.elasticsearch.compute.data.IntBlock;
 import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.Page;
@@ -76,8 +77,28 @@ public final class CbrtIntEvaluator implements EvalOperator.ExpressionEvaluator
   }
 
   public DoubleBlock eval(int positionCount, IntVector valVector) {
+    try(DoubleVector.FixedBuilder result = driverContext.blockFactory().newDoubleVectorFixedBuilder(positionCount)) {
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendDouble(p, Cbrt.process(valVector.getInt(p)));
+        }
+      } catch (ArithmeticException e) {
+        warnings().registerException(e);
+        try (DoubleVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, valVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private DoubleBlock evalAfterFailure(int positionCount, int failed, DoubleVector prefix,
+      IntVector valVector) {
     try(DoubleBlock.Builder result = driverContext.blockFactory().newDoubleBlockBuilder(positionCount)) {
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendDouble(Cbrt.process(valVector.getInt(p)));
         } catch (ArithmeticException e) {
@@ -95,8 +95,28 @@ public final class RoundUnsignedLongEvaluator implements EvalOperator.Expression
   }
 
   public LongBlock eval(int positionCount, LongVector valVector, LongVector decimalsVector) {
+    try(LongVector.FixedBuilder result = driverContext.blockFactory().newLongVectorFixedBuilder(positionCount)) {
+      int p = 0;
+      try {
+        position: for (; p < positionCount; p++) {
+          result.appendLong(p, Round.processUnsignedLong(valVector.getLong(p), decimalsVector.getLong(p)));
+        }
+      } catch (ArithmeticException e) {
+        warnings().registerException(e);
+        try (LongVector prefix = result.build()) {
+          return evalAfterFailure(positionCount, p, prefix, valVector, decimalsVector);
+        }
+      }
+      return result.build().asBlock();
+    }
+  }
+
+  private LongBlock evalAfterFailure(int positionCount, int failed, LongVector prefix,
+      LongVector valVector, LongVector decimalsVector) {
     try(LongBlock.Builder result = driverContext.blockFactory().newLongBlockBuilder(positionCount)) {
-      position: for (int p = 0; p < positionCount; p++) {
+      result.copyFrom(prefix.asBlock(), 0, failed);
+      result.appendNull();
+      position: for (int p = failed + 1; p < positionCount; p++) {
         try {
           result.appendLong(Round.processUnsignedLong(valVector.getLong(p), decimalsVector.getLong(p)));
         } catch (ArithmeticException e) {
@@ -199,6 +199,7 @@ public abstract class AbstractPhysicalOperationProviders implements PhysicalOper
                     aggregatorMode,
                     aggregatorFactories,
                     context.pageSize(aggregateExec.estimatedRowSize()),
+                    context.queryPragmas().partialAggregationEmitKeysThreshold(),
                     analysisRegistry
                 );
             }
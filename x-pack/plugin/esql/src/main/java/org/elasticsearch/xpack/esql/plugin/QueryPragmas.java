@@ -79,6 +79,18 @@ public final class QueryPragmas implements Writeable {
         MappedFieldType.FieldExtractPreference.NONE
     );
 
+    /**
+     * Aggregations that produce intermediate results emit them and start over with an empty
+     * hash once they've collected this many distinct keys. This bounds the memory used by
+     * high cardinality {@code STATS ... BY} on the data nodes at the cost of sending the same
+     * key to the final aggregation more than once. Disabled by default.
+     */
+    public static final Setting<Integer> PARTIAL_AGGREGATION_EMIT_KEYS_THRESHOLD = Setting.intSetting(
+        "partial_aggregation_emit_keys_threshold",
+        Integer.MAX_VALUE,
+        1
+    );
+
     public static final QueryPragmas EMPTY = new QueryPragmas(Settings.EMPTY);
 
     private final Settings settings;
@@ -196,6 +208,15 @@ public final class QueryPragmas implements Writeable {
         return FIELD_EXTRACT_PREFERENCE.get(settings);
     }
 
+    /**
+     * The number of distinct keys an aggregation that produces intermediate results
+     * collects before emitting them and starting over with an empty hash, {@link Integer#MAX_VALUE}
+     * if they only emit once all their input has been collected.
+     */
+    public int partialAggregationEmitKeysThreshold() {
+        return PARTIAL_AGGREGATION_EMIT_KEYS_THRESHOLD.get(settings);
+    }
+
     public boolean isEmpty() {
         return settings.isEmpty();
     }
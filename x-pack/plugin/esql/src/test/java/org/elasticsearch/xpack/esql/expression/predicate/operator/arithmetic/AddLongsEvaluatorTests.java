@@ -0,0 +1,150 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.expression.predicate.operator.arithmetic;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.compute.data.Block;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.LongBlock;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.operator.DriverContext;
+import org.elasticsearch.compute.operator.EvalOperator;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.esql.core.tree.Source;
+import org.junit.After;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests the vector path of {@link AddLongsEvaluator}, which fills a fixed size vector until
+ * a position overflows and then finishes the page with a block builder.
+ */
+public class AddLongsEvaluatorTests extends ESTestCase {
+    private static final String FIRST_WARNING =
+        "Line 1:1: evaluation of [lhs + rhs] failed, treating result as null. Only first 20 failures recorded.";
+    private static final String OVERFLOW_WARNING = "Line 1:1: java.lang.ArithmeticException: long overflow";
+
+    private final BigArrays bigArrays = new MockBigArrays(PageCacheRecycler.NON_RECYCLING_INSTANCE, ByteSizeValue.ofMb(256))
+        .withCircuitBreaking();
+    private final CircuitBreaker breaker = bigArrays.breakerService().getBreaker(CircuitBreaker.REQUEST);
+    private final DriverContext driverContext = new DriverContext(bigArrays, new BlockFactory(breaker, bigArrays));
+
+    @After
+    public void allMemoryReleased() {
+        assertThat(breaker.getUsed(), equalTo(0L));
+    }
+
+    public void testNoOverflow() {
+        int positions = between(1, 1000);
+        long[] lhs = new long[positions];
+        long[] rhs = new long[positions];
+        for (int p = 0; p < positions; p++) {
+            lhs[p] = randomIntBetween(-1000, 1000);
+            rhs[p] = randomIntBetween(-1000, 1000);
+        }
+        try (LongBlock result = eval(lhs, rhs)) {
+            assertThat(result.asVector(), notNullValue());
+            assertResult(result, lhs, rhs, Set.of());
+        }
+    }
+
+    public void testOverflowAtFirstPosition() {
+        int positions = between(1, 1000);
+        long[] lhs = new long[positions];
+        long[] rhs = new long[positions];
+        for (int p = 0; p < positions; p++) {
+            lhs[p] = randomIntBetween(-1000, 1000);
+            rhs[p] = randomIntBetween(-1000, 1000);
+        }
+        lhs[0] = Long.MAX_VALUE;
+        rhs[0] = 1;
+        try (LongBlock result = eval(lhs, rhs)) {
+            assertResult(result, lhs, rhs, Set.of(0));
+        }
+        assertWarnings(FIRST_WARNING, OVERFLOW_WARNING);
+    }
+
+    public void testOverflowInTheMiddle() {
+        int positions = between(3, 1000);
+        long[] lhs = new long[positions];
+        long[] rhs = new long[positions];
+        for (int p = 0; p < positions; p++) {
+            lhs[p] = randomIntBetween(-1000, 1000);
+            rhs[p] = randomIntBetween(-1000, 1000);
+        }
+        int first = between(1, positions - 2);
+        int second = between(first + 1, positions - 1);
+        lhs[first] = Long.MAX_VALUE;
+        rhs[first] = 1;
+        lhs[second] = Long.MIN_VALUE;
+        rhs[second] = -1;
+        try (LongBlock result = eval(lhs, rhs)) {
+            assertResult(result, lhs, rhs, Set.of(first, second));
+        }
+        assertWarnings(FIRST_WARNING, OVERFLOW_WARNING);
+    }
+
+    private LongBlock eval(long[] lhs, long[] rhs) {
+        BlockFactory blockFactory = driverContext.blockFactory();
+        Page page = new Page(
+            blockFactory.newLongArrayVector(lhs, lhs.length).asBlock(),
+            blockFactory.newLongArrayVector(rhs, rhs.length).asBlock()
+        );
+        try (
+            EvalOperator.ExpressionEvaluator evaluator = new AddLongsEvaluator.Factory(
+                new Source(1, 0, "lhs + rhs"),
+                new LoadFromPage(0),
+                new LoadFromPage(1)
+            ).get(driverContext)
+        ) {
+            return (LongBlock) evaluator.eval(page);
+        } finally {
+            page.releaseBlocks();
+        }
+    }
+
+    private static void assertResult(LongBlock result, long[] lhs, long[] rhs, Set<Integer> overflows) {
+        assertThat(result.getPositionCount(), equalTo(lhs.length));
+        for (int p = 0; p < lhs.length; p++) {
+            if (overflows.contains(p)) {
+                assertTrue("position " + p + " overflows", result.isNull(p));
+            } else {
+                assertFalse("position " + p + " doesn't overflow", result.isNull(p));
+                assertThat(result.getLong(result.getFirstValueIndex(p)), equalTo(lhs[p] + rhs[p]));
+            }
+        }
+        if (overflows.isEmpty() == false) {
+            assertThat(result.asVector(), nullValue());
+        }
+    }
+
+    private record LoadFromPage(int channel) implements EvalOperator.ExpressionEvaluator.Factory {
+        @Override
+        public EvalOperator.ExpressionEvaluator get(DriverContext context) {
+            return new EvalOperator.ExpressionEvaluator() {
+                @Override
+                public Block eval(Page page) {
+                    Block block = page.getBlock(channel);
+                    block.incRef();
+                    return block;
+                }
+
+                @Override
+                public void close() {}
+            };
+        }
+    }
+}
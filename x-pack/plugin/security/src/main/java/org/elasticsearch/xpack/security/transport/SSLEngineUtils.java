@@ -39,6 +39,10 @@ public class SSLEngineUtils {
 
     public static SSLEngine getSSLEngine(Channel channel) {
         SslHandler handler = channel.pipeline().get(SslHandler.class);
+        if (handler == null && channel.parent() != null) {
+            // an HTTP/2 stream is a child channel of the connection that does the TLS
+            handler = channel.parent().pipeline().get(SslHandler.class);
+        }
         assert handler != null : "Must have SslHandler";
         return handler.engine();
     }